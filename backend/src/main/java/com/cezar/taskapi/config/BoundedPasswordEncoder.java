@@ -0,0 +1,156 @@
+package com.cezar.taskapi.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Hash de senha (BCrypt) fora das threads de requisicao: um pool fixo faz o trabalho de CPU e uma fila
+// curta limita quantas requisicoes esperam por ele. Com a fila cheia a resposta e 429 na hora; se o
+// resultado nao sai em timeout, 503. Um pico de logins nao ocupa mais workers do Tomcat que
+// threads + fila, e o restante do trafego segue atendido.
+public class BoundedPasswordEncoder implements PasswordEncoder, MeterBinder, DisposableBean {
+
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+
+    // Registrados em bindTo; nulos fora do contexto Spring
+    private volatile Timer encodeTimer;
+    private volatile Timer matchesTimer;
+    private volatile Timer waitTimer;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, Duration timeout) {
+        this.delegate = delegate;
+        this.timeout = timeout;
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword), encodeTimer);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword), matchesTimer);
+    }
+
+    // So le o custo gravado no hash; nao precisa do pool
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Callable<T> work, Timer timer) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                record(waitTimer, start - submitted);
+                try {
+                    return work.call();
+                } finally {
+                    record(timer, System.nanoTime() - start);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw new ServiceOverloadedException(HttpStatus.TOO_MANY_REQUESTS,
+                    "Muitas autenticacoes simultaneas, tente novamente em instantes", RETRY_AFTER);
+        }
+
+        try {
+            return future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Ainda na fila: cancelar evita gastar CPU com um hash que ninguem vai usar
+            future.cancel(false);
+            timedOut.incrementAndGet();
+            throw new ServiceOverloadedException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Servico de autenticacao sobrecarregado, tente novamente em instantes", RETRY_AFTER);
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando o hash de senha", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Falha no hash de senha", e.getCause());
+        }
+    }
+
+    int queued() {
+        return executor.getQueue().size();
+    }
+
+    private static void record(Timer timer, long nanos) {
+        if (timer != null) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        encodeTimer = Timer.builder("auth.password.hash")
+                .description("Tempo do hash de senha")
+                .tag("operation", "encode")
+                .publishPercentileHistogram()
+                .register(registry);
+        matchesTimer = Timer.builder("auth.password.hash")
+                .description("Tempo do hash de senha")
+                .tag("operation", "matches")
+                .publishPercentileHistogram()
+                .register(registry);
+        waitTimer = Timer.builder("auth.password.wait")
+                .description("Espera na fila antes do hash de senha")
+                .publishPercentileHistogram()
+                .register(registry);
+        Gauge.builder("auth.password.queue", this, BoundedPasswordEncoder::queued)
+                .description("Hashes de senha aguardando na fila")
+                .register(registry);
+        Gauge.builder("auth.password.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hashes de senha em execucao")
+                .register(registry);
+        FunctionCounter.builder("auth.password.rejected", rejected, AtomicLong::get)
+                .description("Hashes recusados com a fila cheia (429)")
+                .register(registry);
+        FunctionCounter.builder("auth.password.timeouts", timedOut, AtomicLong::get)
+                .description("Hashes que passaram do tempo limite (503)")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
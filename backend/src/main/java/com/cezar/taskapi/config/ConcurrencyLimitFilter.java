@@ -0,0 +1,96 @@
+package com.cezar.taskapi.config;
+
+import com.cezar.taskapi.dto.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Limita as requisicoes em processamento ao mesmo tempo. Com virtual threads nao ha mais o teto
+// natural do pool de threads do Tomcat; sem este limite um pico de carga vira uma fila enorme de
+// requisicoes esperando conexao do banco. Acima do limite, espera um pouco e responde 503.
+@Component
+@ConditionalOnProperty(name = "tasks.concurrency.max-in-flight")
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 10)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter implements MeterBinder {
+
+    private final int maxInFlight;
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+    private final ObjectMapper objectMapper;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public ConcurrencyLimitFilter(@Value("${tasks.concurrency.max-in-flight}") int maxInFlight,
+                                  @Value("${tasks.concurrency.acquire-timeout:100ms}") Duration acquireTimeout,
+                                  ObjectMapper objectMapper) {
+        this.maxInFlight = maxInFlight;
+        this.permits = new Semaphore(maxInFlight);
+        this.acquireTimeout = acquireTimeout;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            rejected.incrementAndGet();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(
+                    HttpStatus.SERVICE_UNAVAILABLE.value(),
+                    "Service Unavailable",
+                    "Servidor sobrecarregado, tente novamente em instantes",
+                    request.getRequestURI()));
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("http.server.requests.in.flight", permits, p -> maxInFlight - p.availablePermits())
+                .description("Requisicoes em processamento")
+                .register(registry);
+        FunctionCounter.builder("http.server.requests.rejected", rejected, AtomicLong::get)
+                .description("Requisicoes recusadas com 503 pelo limite de concorrencia")
+                .register(registry);
+    }
+}
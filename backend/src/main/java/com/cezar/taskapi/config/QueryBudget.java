@@ -0,0 +1,17 @@
+package com.cezar.taskapi.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Maximo de comandos SQL que a operacao pode executar, contando o commit e os listeners pos-commit.
+// Conferido pelo QueryBudgetInterceptor quando tasks.query-budget.mode e warn ou fail.
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    int value();
+}
@@ -0,0 +1,30 @@
+package com.cezar.taskapi.config;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class QueryBudgetConfig {
+
+    // Por fora da transacao (maior precedencia), para contar tambem o flush do commit
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    @ConditionalOnExpression("'${tasks.query-budget.mode:off}'.toUpperCase() != 'OFF'")
+    public static Advisor queryBudgetAdvisor(
+            QueryCounter queryCounter,
+            @Value("${tasks.query-budget.mode}") QueryBudgetInterceptor.Mode mode) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                AnnotationMatchingPointcut.forMethodAnnotation(QueryBudget.class),
+                new QueryBudgetInterceptor(queryCounter, mode));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
@@ -0,0 +1,9 @@
+package com.cezar.taskapi.config;
+
+// Lancada no modo fail (testes) quando uma operacao passa do seu @QueryBudget
+public class QueryBudgetExceededException extends RuntimeException {
+
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,54 @@
+package com.cezar.taskapi.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.reflect.Method;
+
+// Conta os comandos SQL de cada metodo com @QueryBudget e reage quando o orcamento e ultrapassado:
+// WARN registra em log (seguro em producao), FAIL lanca excecao (usado nos testes).
+@Slf4j
+public class QueryBudgetInterceptor implements MethodInterceptor {
+
+    public enum Mode {
+        OFF, WARN, FAIL
+    }
+
+    private final QueryCounter queryCounter;
+    private final Mode mode;
+
+    public QueryBudgetInterceptor(QueryCounter queryCounter, Mode mode) {
+        this.queryCounter = queryCounter;
+        this.mode = mode;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        QueryBudget budget = invocation.getMethod().getAnnotation(QueryBudget.class);
+        if (budget == null) {
+            return invocation.proceed();
+        }
+
+        Object result;
+        int queries;
+        try (QueryCounter.Scope scope = queryCounter.open()) {
+            result = invocation.proceed();
+            queries = scope.count();
+        }
+
+        if (queries > budget.value()) {
+            String message = String.format("%s executou %d comandos SQL (orcamento: %d)",
+                    describe(invocation.getMethod()), queries, budget.value());
+            if (mode == Mode.FAIL) {
+                throw new QueryBudgetExceededException(message);
+            }
+            log.warn(message);
+        }
+        return result;
+    }
+
+    private static String describe(Method method) {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+    }
+}
@@ -0,0 +1,66 @@
+package com.cezar.taskapi.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// Conta os comandos SQL preparados pelo Hibernate na thread atual (um por ida ao banco; um batch de
+// JDBC conta uma vez). Contagens podem ser aninhadas: a requisicao e cada operacao de servico abrem a
+// sua. O Hibernate chama inspect() para cada comando; fora de uma contagem o custo e uma leitura de ThreadLocal.
+@Component
+public class QueryCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    public Scope open() {
+        int[] count = COUNT.get();
+        boolean owner = count == null;
+        if (owner) {
+            count = new int[1];
+            COUNT.set(count);
+        }
+        return new Scope(count, count[0], owner);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final int[] counter;
+        private final int start;
+        private final boolean owner;
+
+        private Scope(int[] counter, int start, boolean owner) {
+            this.counter = counter;
+            this.start = start;
+            this.owner = owner;
+        }
+
+        // Comandos executados desde a abertura desta contagem
+        public int count() {
+            return counter[0] - start;
+        }
+
+        @Override
+        public void close() {
+            if (owner) {
+                COUNT.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.cezar.taskapi.config;
+
+import com.cezar.taskapi.dto.ErrorResponse;
+import com.cezar.taskapi.service.JwtService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+// Limite de taxa por rota, antes do JwtAuthenticationFilter. A chave e o id do usuario quando o token
+// e valido (claims saem do cache do JwtService, que o filtro JWT reaproveita em seguida) e o IP do
+// cliente nos demais casos. Login e cadastro sao limitados por IP, antes de gastar um BCrypt.
+@Component
+@ConditionalOnProperty(name = "tasks.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String LIMIT_HEADER = "RateLimit-Limit";
+    private static final String REMAINING_HEADER = "RateLimit-Remaining";
+    private static final String RESET_HEADER = "RateLimit-Reset";
+
+    private final RateLimiter rateLimiter;
+    private final JwtService jwtService;
+    private final ObjectMapper objectMapper;
+    private final RateLimiter.Policy authPolicy;
+    private final RateLimiter.Policy bulkPolicy;
+    private final RateLimiter.Policy apiPolicy;
+
+    public RateLimitFilter(
+            RateLimiter rateLimiter,
+            JwtService jwtService,
+            ObjectMapper objectMapper,
+            @Value("${tasks.rate-limit.auth.capacity:10}") int authCapacity,
+            @Value("${tasks.rate-limit.auth.period:1m}") Duration authPeriod,
+            @Value("${tasks.rate-limit.bulk.capacity:10}") int bulkCapacity,
+            @Value("${tasks.rate-limit.bulk.period:1m}") Duration bulkPeriod,
+            @Value("${tasks.rate-limit.api.capacity:200}") int apiCapacity,
+            @Value("${tasks.rate-limit.api.period:10s}") Duration apiPeriod) {
+        this.rateLimiter = rateLimiter;
+        this.jwtService = jwtService;
+        this.objectMapper = objectMapper;
+        this.authPolicy = new RateLimiter.Policy("auth", authCapacity, authPeriod);
+        this.bulkPolicy = new RateLimiter.Policy("bulk", bulkCapacity, bulkPeriod);
+        this.apiPolicy = new RateLimiter.Policy("api", apiCapacity, apiPeriod);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        RateLimiter.Policy policy = policyFor(request);
+        if (policy == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String subject = policy == authPolicy ? "ip:" + request.getRemoteAddr() : subject(request);
+        RateLimiter.Decision decision = rateLimiter.tryAcquire(policy, subject);
+
+        response.setHeader(LIMIT_HEADER, String.valueOf(decision.limit()));
+        response.setHeader(REMAINING_HEADER, String.valueOf(decision.remaining()));
+        response.setHeader(RESET_HEADER, String.valueOf(decision.resetSeconds()));
+
+        if (!decision.allowed()) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, decision.retryAfterSeconds())));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(
+                    HttpStatus.TOO_MANY_REQUESTS.value(),
+                    "Too Many Requests",
+                    "Limite de requisicoes excedido, tente novamente em instantes",
+                    request.getRequestURI()));
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    // Rotas fora de /api (documentacao, actuator, console H2) nao sao limitadas
+    private RateLimiter.Policy policyFor(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/api/auth/") || path.equals("/api/users/register")) {
+            return authPolicy;
+        }
+        if (path.equals("/api/tasks/import") || path.equals("/api/tasks/export") || path.equals("/api/tasks/batch")
+                || path.equals("/api/tasks/transition")) {
+            return bulkPolicy;
+        }
+        return path.startsWith("/api/") ? apiPolicy : null;
+    }
+
+    private String subject(HttpServletRequest request) {
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            try {
+                Claims claims = jwtService.parseToken(authHeader.substring(7));
+                Object userId = claims.get(JwtService.CLAIM_USER_ID);
+                if (userId != null) {
+                    return "user:" + userId;
+                }
+            } catch (Exception e) {
+                // Token invalido: limitado pelo IP, e o filtro JWT responde pela autenticacao
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
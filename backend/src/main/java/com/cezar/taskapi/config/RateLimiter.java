@@ -0,0 +1,98 @@
+package com.cezar.taskapi.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token bucket sem locks. Cada balde guarda um unico long, o instante teorico em que ele estaria cheio
+// de novo (GCRA): consumir um token e avancar esse instante em period/capacity com um CAS. Equivale a
+// um balde de capacity tokens reposto continuamente, sem thread de reposicao nem synchronized.
+// Os baldes ficam num ConcurrentHashMap (escritas travam so o bin da chave) e os ociosos, ja cheios,
+// sao removidos periodicamente: um balde cheio e identico a um novo.
+@Component
+public class RateLimiter implements MeterBinder {
+
+    public record Policy(String name, int capacity, Duration period) {
+
+        long intervalNanos() {
+            return period.toNanos() / capacity;
+        }
+    }
+
+    public record Decision(boolean allowed, int limit, long remaining, long resetSeconds, long retryAfterSeconds) {
+    }
+
+    private record Key(String policy, String subject) {
+    }
+
+    private final ConcurrentMap<Key, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
+
+    public Decision tryAcquire(Policy policy, String subject) {
+        Key key = new Key(policy.name(), subject);
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(System.nanoTime()));
+        }
+
+        long interval = policy.intervalNanos();
+        long period = policy.period().toNanos();
+        while (true) {
+            long now = System.nanoTime();
+            long fullAt = bucket.get();
+            // Comparacoes por diferenca: System.nanoTime() pode ser negativo
+            long next = (fullAt - now > 0 ? fullAt : now) + interval;
+            long debt = next - now;
+            if (debt > period) {
+                rejected(policy);
+                long wait = debt - period;
+                return new Decision(false, policy.capacity(), 0, toSeconds(fullAt - now), toSeconds(wait));
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return new Decision(true, policy.capacity(), (period - debt) / interval, toSeconds(debt), 0);
+            }
+        }
+    }
+
+    // Baldes cheios nao guardam informacao; remove-los limita a memoria a clientes ativos
+    @Scheduled(fixedDelayString = "${tasks.rate-limit.eviction-interval:PT1M}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private void rejected(Policy policy) {
+        MeterRegistry current = registry;
+        if (current != null) {
+            Counter.builder("http.server.requests.rate.limited")
+                    .description("Requisicoes recusadas com 429 pelo limite de taxa")
+                    .tag("policy", policy.name())
+                    .register(current)
+                    .increment();
+        }
+    }
+
+    private static long toSeconds(long nanos) {
+        return nanos <= 0 ? 0 : (nanos + 999_999_999L) / 1_000_000_000L;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        Gauge.builder("rate.limit.buckets", this, RateLimiter::size)
+                .description("Baldes de limite de taxa em memoria")
+                .register(registry);
+    }
+}
@@ -0,0 +1,23 @@
+package com.cezar.taskapi.config;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+
+// Sobrecarga momentanea (429/503): o GlobalExceptionHandler devolve o status com o Retry-After
+public class ServiceOverloadedException extends ResponseStatusException {
+
+    private final HttpHeaders headers = new HttpHeaders();
+
+    public ServiceOverloadedException(HttpStatus status, String reason, Duration retryAfter) {
+        super(status, reason);
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfter.toSeconds())));
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+}
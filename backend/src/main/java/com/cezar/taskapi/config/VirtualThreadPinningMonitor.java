@@ -0,0 +1,93 @@
+package com.cezar.taskapi.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+// Acompanha, via JFR, virtual threads que ficam presas ao carrier (bloqueio dentro de synchronized
+// ou de codigo nativo). Cada ocorrencia conta na metrica jvm.threads.virtual.pinned; a primeira vez
+// de cada pilha e registrada em WARN para apontar o trecho que precisa mudar.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor implements MeterBinder {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int STACK_DEPTH = 12;
+    private static final int MAX_TRACKED_STACKS = 1000;
+
+    private final Duration threshold;
+    private final Set<String> reportedStacks = ConcurrentHashMap.newKeySet();
+    private volatile Timer pinnedTimer;
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(@Value("${tasks.virtual.pinned-threshold:20ms}") Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    @PostConstruct
+    void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        Timer timer = pinnedTimer;
+        if (timer != null) {
+            timer.record(event.getDuration());
+        }
+
+        String stack = describe(event.getStackTrace());
+        if (reportedStacks.size() < MAX_TRACKED_STACKS && reportedStacks.add(stack)) {
+            log.warn("Virtual thread presa ao carrier por {} ms:{}", event.getDuration().toMillis(), stack);
+        } else {
+            log.debug("Virtual thread presa ao carrier por {} ms", event.getDuration().toMillis());
+        }
+    }
+
+    private static String describe(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return " (sem pilha)";
+        }
+        return stackTrace.getFrames().stream()
+                .limit(STACK_DEPTH)
+                .map(VirtualThreadPinningMonitor::describe)
+                .collect(Collectors.joining());
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return "\n\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        pinnedTimer = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Periodos em que uma virtual thread ficou presa ao carrier")
+                .register(registry);
+    }
+}
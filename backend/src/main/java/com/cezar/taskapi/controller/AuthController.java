@@ -3,6 +3,7 @@ package com.cezar.taskapi.controller;
 import com.cezar.taskapi.dto.AuthResponse;
 import com.cezar.taskapi.dto.LoginRequest;
 import com.cezar.taskapi.dto.RegisterRequest;
+import com.cezar.taskapi.model.User;
 import com.cezar.taskapi.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,12 +13,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
 @RequestMapping("/api/auth")
-@Tag(name = "Autenticacao", description = "Endpoints para registro e login de usuarios")
+@Tag(name = "Autenticacao", description = "Endpoints para registro, login e logout de usuarios")
 public class AuthController {
 
     private final AuthService authService;
@@ -49,4 +52,28 @@ public class AuthController {
         AuthResponse response = authService.login(request);
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/logout")
+    @Operation(summary = "Logout", description = "Revoga o token JWT usado na requisicao")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Token revogado"),
+            @ApiResponse(responseCode = "403", description = "Token invalido, ausente ou ja revogado")
+    })
+    public ResponseEntity<Void> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+        // O filtro JWT ja autenticou a requisicao, entao o cabecalho traz um token Bearer valido
+        authService.logout(authorization.substring(7));
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/revoke-all")
+    @Operation(summary = "Revogar todos os tokens",
+            description = "Revoga todos os tokens JWT do usuario emitidos ate agora, inclusive o da requisicao")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Tokens revogados"),
+            @ApiResponse(responseCode = "403", description = "Token invalido, ausente ou ja revogado")
+    })
+    public ResponseEntity<Void> revokeAll(@AuthenticationPrincipal User user) {
+        authService.revokeAll(user.getId());
+        return ResponseEntity.noContent().build();
+    }
 }
\ No newline at end of file
@@ -1,10 +1,25 @@
 package com.cezar.taskapi.controller;
 
+import com.cezar.taskapi.dto.CursorPageResponse;
+import com.cezar.taskapi.dto.TaskChangesResponse;
+import com.cezar.taskapi.dto.TaskBatchRequest;
+import com.cezar.taskapi.dto.TaskBatchResponse;
+import com.cezar.taskapi.dto.TaskImportJobResponse;
+import com.cezar.taskapi.dto.TaskListingVersion;
+import com.cezar.taskapi.dto.TaskPatchRequest;
 import com.cezar.taskapi.dto.TaskRequest;
 import com.cezar.taskapi.dto.TaskResponse;
+import com.cezar.taskapi.dto.TaskStatsResponse;
+import com.cezar.taskapi.dto.TaskTransitionRequest;
+import com.cezar.taskapi.dto.TaskTransitionResponse;
 import com.cezar.taskapi.model.TaskStatus;
 import com.cezar.taskapi.model.User;
+import com.cezar.taskapi.service.TaskEventBroadcaster;
+import com.cezar.taskapi.service.TaskExportService;
+import com.cezar.taskapi.service.TaskImportService;
 import com.cezar.taskapi.service.TaskService;
+import com.cezar.taskapi.service.TaskStatsService;
+import com.cezar.taskapi.service.TaskSyncService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,15 +28,30 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/tasks")
@@ -30,9 +60,21 @@ import org.springframework.web.bind.annotation.*;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskExportService taskExportService;
+    private final TaskImportService taskImportService;
+    private final TaskStatsService taskStatsService;
+    private final TaskEventBroadcaster taskEventBroadcaster;
+    private final TaskSyncService taskSyncService;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, TaskExportService taskExportService,
+                          TaskImportService taskImportService, TaskStatsService taskStatsService,
+                          TaskEventBroadcaster taskEventBroadcaster, TaskSyncService taskSyncService) {
         this.taskService = taskService;
+        this.taskExportService = taskExportService;
+        this.taskImportService = taskImportService;
+        this.taskStatsService = taskStatsService;
+        this.taskEventBroadcaster = taskEventBroadcaster;
+        this.taskSyncService = taskSyncService;
     }
 
     @PostMapping
@@ -54,6 +96,7 @@ public class TaskController {
     @Operation(summary = "Listar tarefas", description = "Lista todas as tarefas do usuario com paginacao e filtros")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de tarefas"),
+            @ApiResponse(responseCode = "304", description = "Lista nao modificada (If-None-Match / If-Modified-Since)"),
             @ApiResponse(responseCode = "403", description = "Token invalido ou ausente")
     })
     public ResponseEntity<Page<TaskResponse>> getAll(
@@ -62,7 +105,8 @@ public class TaskController {
             @Parameter(description = "Numero da pagina (comeca em 0)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Itens por pagina") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Campo para ordenacao") @RequestParam(defaultValue = "createdAt") String sortBy,
-            @Parameter(description = "Direcao: ASC ou DESC") @RequestParam(defaultValue = "DESC") String direction) {
+            @Parameter(description = "Direcao: ASC ou DESC") @RequestParam(defaultValue = "DESC") String direction,
+            WebRequest webRequest) {
 
         Sort.Direction sortDirection = direction.equalsIgnoreCase("ASC")
                 ? Sort.Direction.ASC
@@ -70,11 +114,208 @@ public class TaskController {
 
         Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sortBy));
 
+        // If-None-Match / If-Modified-Since conferidos antes da consulta paginada: 304 sem tocar na pagina
+        TaskListingVersion version = taskService.listingVersion(user.getId(), status, pageable);
+        ZonedDateTime lastModified = version.getLastModified() != null
+                ? version.getLastModified().atZone(ZoneId.systemDefault())
+                : null;
+        long lastModifiedMillis = lastModified != null ? lastModified.toInstant().toEpochMilli() : -1;
+        if (webRequest.checkNotModified(version.getETag(), lastModifiedMillis)) {
+            return null;
+        }
+
         Page<TaskResponse> tasks = status != null
                 ? taskService.findByUserAndStatus(user.getId(), status, pageable)
                 : taskService.findAllByUser(user.getId(), pageable);
 
-        return ResponseEntity.ok(tasks);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().eTag(version.getETag());
+        if (lastModified != null) {
+            builder.lastModified(lastModified);
+        }
+        return builder.body(tasks);
+    }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Listar tarefas por cursor",
+            description = "Lista as tarefas do usuario com paginacao keyset (sem contagem total). "
+                    + "Use o nextCursor retornado para buscar a proxima pagina")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Pagina de tarefas"),
+            @ApiResponse(responseCode = "400", description = "Cursor ou campo de ordenacao invalido"),
+            @ApiResponse(responseCode = "403", description = "Token invalido ou ausente")
+    })
+    public ResponseEntity<CursorPageResponse<TaskResponse>> scroll(
+            @AuthenticationPrincipal User user,
+            @Parameter(description = "Filtrar por status") @RequestParam(required = false) TaskStatus status,
+            @Parameter(description = "Cursor retornado pela pagina anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Itens por pagina (maximo 100)") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Campo para ordenacao: createdAt ou id") @RequestParam(defaultValue = "createdAt") String sortBy,
+            @Parameter(description = "Direcao: ASC ou DESC") @RequestParam(defaultValue = "DESC") String direction) {
+
+        Sort.Direction sortDirection = direction.equalsIgnoreCase("ASC")
+                ? Sort.Direction.ASC
+                : Sort.Direction.DESC;
+
+        return ResponseEntity.ok(taskService.scrollByUser(user.getId(), status, cursor, size, sortBy, sortDirection));
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Operacoes em lote",
+            description = "Executa ate 500 operacoes CREATE/UPDATE/DELETE em uma unica transacao, "
+                    + "retornando o resultado de cada item na mesma ordem do pedido")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote processado",
+                    content = @Content(schema = @Schema(implementation = TaskBatchResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Alguma operacao do lote e invalida; nada foi gravado"),
+            @ApiResponse(responseCode = "403", description = "Token invalido ou ausente")
+    })
+    public ResponseEntity<TaskBatchResponse> batch(
+            @AuthenticationPrincipal User user,
+            @Valid @RequestBody TaskBatchRequest request) {
+        return ResponseEntity.ok(taskService.executeBatch(user.getId(), request));
+    }
+
+    @PostMapping("/transition")
+    @Operation(summary = "Transicao em massa",
+            description = "Altera status e/ou prioridade de todas as tarefas do usuario que atendem ao filtro "
+                    + "(status, prioridades, faixa de vencimento) com um unico UPDATE no banco. "
+                    + "Tarefas que ja estao no destino nao sao contadas")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Quantidade de tarefas alteradas",
+                    content = @Content(schema = @Schema(implementation = TaskTransitionResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Filtro invalido ou destino ausente"),
+            @ApiResponse(responseCode = "403", description = "Token invalido ou ausente")
+    })
+    public ResponseEntity<TaskTransitionResponse> transition(
+            @AuthenticationPrincipal User user,
+            @Valid @RequestBody TaskTransitionRequest request) {
+        return ResponseEntity.ok(taskService.transition(user.getId(), request));
+    }
+
+    @GetMapping("/changes")
+    @Operation(summary = "Sincronizacao incremental",
+            description = "Retorna as tarefas criadas/alteradas e os ids removidos desde o cursor informado. "
+                    + "Sem cursor, retorna todas as tarefas. Repita com nextCursor enquanto hasMore for true")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Alteracoes desde o cursor",
+                    content = @Content(schema = @Schema(implementation = TaskChangesResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Cursor ou limite invalido"),
+            @ApiResponse(responseCode = "403", description = "Token invalido ou ausente"),
+            @ApiResponse(responseCode = "410", description = "Cursor expirado; refazer a sincronizacao completa")
+    })
+    public ResponseEntity<TaskChangesResponse> changes(
+            @AuthenticationPrincipal User user,
+            @Parameter(description = "nextCursor da sincronizacao anterior (omitir na primeira)") @RequestParam(required = false) String since,
+            @Parameter(description = "Maximo de itens de cada lista (maximo 1000)") @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(taskSyncService.changesSince(user.getId(), since, limit));
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Feed de alteracoes (SSE)",
+            description = "Mantem uma conexao Server-Sent Events que recebe task.created, task.updated, "
+                    + "task.deleted, task.imported, task.reminder e task.overdue das tarefas do usuario, "
+                    + "com heartbeat periodico. Substitui o polling de GET /api/tasks")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream de eventos"),
+            @ApiResponse(responseCode = "403", description = "Token invalido ou ausente"),
+            @ApiResponse(responseCode = "429", description = "Limite de conexoes do usuario atingido; tentar apos o Retry-After")
+    })
+    public SseEmitter events(@AuthenticationPrincipal User user) {
+        return taskEventBroadcaster.subscribe(user.getId());
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Estatisticas de tarefas",
+            description = "Contagem das tarefas do usuario por status e prioridade, vencidas e que vencem hoje. "
+                    + "Servida a partir de contadores em memoria, sem varrer a tabela")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estatisticas do usuario",
+                    content = @Content(schema = @Schema(implementation = TaskStatsResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Token invalido ou ausente")
+    })
+    public ResponseEntity<TaskStatsResponse> stats(@AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(taskStatsService.getStats(user.getId()));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Exportar tarefas",
+            description = "Exporta todas as tarefas do usuario em NDJSON ou CSV. A resposta e enviada "
+                    + "em streaming, lida do banco por cursor, e pode ser compactada com gzip")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Arquivo de exportacao"),
+            @ApiResponse(responseCode = "400", description = "Formato invalido"),
+            @ApiResponse(responseCode = "403", description = "Token invalido ou ausente")
+    })
+    public ResponseEntity<StreamingResponseBody> export(
+            @AuthenticationPrincipal User user,
+            @Parameter(description = "Filtrar por status") @RequestParam(required = false) TaskStatus status,
+            @Parameter(description = "Formato: NDJSON ou CSV") @RequestParam(defaultValue = "NDJSON") String format,
+            @Parameter(description = "Compactar a resposta com gzip") @RequestParam(defaultValue = "false") boolean gzip) {
+
+        TaskExportService.Format exportFormat = TaskExportService.Format.from(format);
+        Long userId = user.getId();
+
+        StreamingResponseBody body = outputStream -> {
+            if (gzip) {
+                GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream, 8192);
+                taskExportService.export(userId, status, exportFormat, gzipStream);
+                gzipStream.finish();
+            } else {
+                taskExportService.export(userId, status, exportFormat, outputStream);
+            }
+        };
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.parseMediaType(exportFormat.getContentType()),
+                        StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"tasks." + exportFormat.getExtension() + (gzip ? ".gz" : "") + "\"");
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(body);
+    }
+
+    @PostMapping("/import")
+    @Operation(summary = "Importar tarefas",
+            description = "Recebe um arquivo NDJSON ou CSV no corpo da requisicao (opcionalmente com "
+                    + "Content-Encoding: gzip) e importa as tarefas em segundo plano. Cada linha e validada "
+                    + "com as mesmas regras da criacao; o progresso e os erros ficam em /api/tasks/import/{jobId}")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Importacao iniciada",
+                    content = @Content(schema = @Schema(implementation = TaskImportJobResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Formato invalido, arquivo grande demais ou muitas importacoes em andamento"),
+            @ApiResponse(responseCode = "403", description = "Token invalido ou ausente")
+    })
+    public ResponseEntity<TaskImportJobResponse> importTasks(
+            @AuthenticationPrincipal User user,
+            @Parameter(description = "Formato: NDJSON ou CSV (com cabecalho)") @RequestParam(defaultValue = "NDJSON") String format,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            HttpServletRequest request) throws IOException {
+
+        TaskExportService.Format importFormat = TaskExportService.Format.from(format);
+        InputStream body = "gzip".equalsIgnoreCase(contentEncoding)
+                ? new GZIPInputStream(request.getInputStream())
+                : request.getInputStream();
+
+        TaskImportJobResponse job = taskImportService.start(user.getId(), importFormat, body);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/tasks/import/" + job.getJobId()))
+                .body(job);
+    }
+
+    @GetMapping("/import/{jobId}")
+    @Operation(summary = "Progresso da importacao", description = "Linhas lidas, importadas, rejeitadas e os erros por linha")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Situacao da importacao",
+                    content = @Content(schema = @Schema(implementation = TaskImportJobResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Importacao nao encontrada"),
+            @ApiResponse(responseCode = "403", description = "Token invalido ou ausente")
+    })
+    public ResponseEntity<TaskImportJobResponse> getImport(
+            @AuthenticationPrincipal User user,
+            @Parameter(description = "ID da importacao") @PathVariable String jobId) {
+        return ResponseEntity.ok(taskImportService.getJob(jobId, user.getId()));
     }
 
     @GetMapping("/{id}")
@@ -82,6 +323,7 @@ public class TaskController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tarefa encontrada",
                     content = @Content(schema = @Schema(implementation = TaskResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Tarefa nao modificada (If-None-Match / If-Modified-Since)"),
             @ApiResponse(responseCode = "400", description = "Tarefa nao encontrada ou acesso negado"),
             @ApiResponse(responseCode = "403", description = "Token invalido ou ausente")
     })
@@ -89,23 +331,55 @@ public class TaskController {
             @AuthenticationPrincipal User user,
             @Parameter(description = "ID da tarefa") @PathVariable Long id) {
         TaskResponse response = taskService.findById(id, user.getId());
-        return ResponseEntity.ok(response);
+
+        // Com ETag/Last-Modified no ResponseEntity o Spring responde 304 para GETs condicionais
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().eTag(eTagOf(response));
+        if (response.getUpdatedAt() != null) {
+            builder.lastModified(response.getUpdatedAt().atZone(ZoneId.systemDefault()));
+        }
+        return builder.body(response);
     }
 
     @PutMapping("/{id}")
-    @Operation(summary = "Atualizar tarefa", description = "Atualiza uma tarefa existente")
+    @Operation(summary = "Atualizar tarefa",
+            description = "Substitui todos os campos da tarefa. Com If-Match (ETag do GET), so atualiza "
+                    + "se a tarefa nao mudou desde a leitura")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tarefa atualizada",
                     content = @Content(schema = @Schema(implementation = TaskResponse.class))),
             @ApiResponse(responseCode = "400", description = "Dados invalidos ou tarefa nao encontrada"),
-            @ApiResponse(responseCode = "403", description = "Token invalido ou ausente")
+            @ApiResponse(responseCode = "403", description = "Token invalido ou ausente"),
+            @ApiResponse(responseCode = "409", description = "Tarefa alterada por outra requisicao")
     })
     public ResponseEntity<TaskResponse> update(
             @AuthenticationPrincipal User user,
             @Parameter(description = "ID da tarefa") @PathVariable Long id,
+            @Parameter(description = "ETag da ultima leitura da tarefa")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody TaskRequest request) {
-        TaskResponse response = taskService.update(id, user.getId(), request);
-        return ResponseEntity.ok(response);
+        TaskResponse response = taskService.update(id, user.getId(), request, expectedVersion(id, ifMatch));
+        return ResponseEntity.ok().eTag(eTagOf(response)).body(response);
+    }
+
+    @PatchMapping("/{id}")
+    @Operation(summary = "Atualizar campos da tarefa",
+            description = "Altera apenas os campos enviados; null limpa descricao e vencimento. "
+                    + "Com If-Match (ETag do GET), so atualiza se a tarefa nao mudou desde a leitura")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tarefa atualizada",
+                    content = @Content(schema = @Schema(implementation = TaskResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Dados invalidos ou tarefa nao encontrada"),
+            @ApiResponse(responseCode = "403", description = "Token invalido ou ausente"),
+            @ApiResponse(responseCode = "409", description = "Tarefa alterada por outra requisicao")
+    })
+    public ResponseEntity<TaskResponse> patch(
+            @AuthenticationPrincipal User user,
+            @Parameter(description = "ID da tarefa") @PathVariable Long id,
+            @Parameter(description = "ETag da ultima leitura da tarefa")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody TaskPatchRequest request) {
+        TaskResponse response = taskService.patch(id, user.getId(), request, expectedVersion(id, ifMatch));
+        return ResponseEntity.ok().eTag(eTagOf(response)).body(response);
     }
 
     @DeleteMapping("/{id}")
@@ -121,4 +395,29 @@ public class TaskController {
         taskService.delete(id, user.getId());
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    private String eTagOf(TaskResponse task) {
+        return "\"" + task.getId() + "-" + task.getVersion() + "\"";
+    }
+
+    // Versao esperada a partir do If-Match no formato do eTagOf ("<id>-<versao>"); "*" ou ausente nao verifica
+    private Long expectedVersion(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        tag = tag.replace("\"", "");
+        String prefix = id + "-";
+        if (!tag.startsWith(prefix)) {
+            throw new RuntimeException("If-Match nao corresponde a tarefa " + id);
+        }
+        try {
+            return Long.parseLong(tag.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("If-Match invalido");
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.cezar.taskapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBatchItemResult {
+
+    public enum Status {
+        OK,
+        NOT_FOUND
+    }
+
+    private int index;
+    private TaskBatchOperation.Type op;
+    private Long id;
+    private Status status;
+    private TaskResponse task;
+    private String error;
+}
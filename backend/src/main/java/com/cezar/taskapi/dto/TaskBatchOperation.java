@@ -0,0 +1,43 @@
+package com.cezar.taskapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+@Schema(description = "Operacao individual de um lote")
+public class TaskBatchOperation {
+
+    public enum Type {
+        CREATE,
+        UPDATE,
+        DELETE
+    }
+
+    @Schema(description = "Tipo da operacao", example = "CREATE")
+    @NotNull(message = "Operacao e obrigatoria")
+    private Type op;
+
+    @Schema(description = "ID da tarefa (UPDATE e DELETE)", example = "1")
+    private Long id;
+
+    @Schema(description = "Dados da tarefa (CREATE e UPDATE)")
+    @Valid
+    private TaskRequest task;
+
+    @JsonIgnore
+    @AssertTrue(message = "CREATE exige task; UPDATE exige id e task; DELETE exige id")
+    public boolean isConsistent() {
+        if (op == null) {
+            return true;
+        }
+        return switch (op) {
+            case CREATE -> task != null;
+            case UPDATE -> id != null && task != null;
+            case DELETE -> id != null;
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package com.cezar.taskapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Schema(description = "Lote de operacoes executadas em uma unica transacao")
+public class TaskBatchRequest {
+
+    @NotEmpty(message = "Informe ao menos uma operacao")
+    @Size(max = 500, message = "Um lote pode ter no maximo 500 operacoes")
+    private List<@Valid @NotNull(message = "Operacao nao pode ser nula") TaskBatchOperation> operations;
+}
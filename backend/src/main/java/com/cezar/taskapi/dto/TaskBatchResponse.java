@@ -0,0 +1,16 @@
+package com.cezar.taskapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBatchResponse {
+    private int succeeded;
+    private int failed;
+    private List<TaskBatchItemResult> results;
+}
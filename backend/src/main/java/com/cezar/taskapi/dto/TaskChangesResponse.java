@@ -0,0 +1,17 @@
+package com.cezar.taskapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskChangesResponse {
+    private List<TaskResponse> changed;  // criadas ou alteradas desde o cursor
+    private List<Long> deleted;          // ids removidos desde o cursor
+    private String nextCursor;           // usar como "since" na proxima chamada
+    private boolean hasMore;             // true quando ha mais alteracoes alem do limite
+}
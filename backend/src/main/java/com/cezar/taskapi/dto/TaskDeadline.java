@@ -0,0 +1,17 @@
+package com.cezar.taskapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Projecao minima usada pelo agendador de vencimentos
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskDeadline {
+    private Long taskId;
+    private Long userId;
+    private LocalDateTime dueDate;
+}
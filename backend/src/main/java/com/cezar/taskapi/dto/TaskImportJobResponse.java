@@ -0,0 +1,31 @@
+package com.cezar.taskapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskImportJobResponse {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private String jobId;
+    private Status status;
+    private String format;
+    private long rowsRead;
+    private long imported;
+    private long failed;
+    private List<TaskImportError> errors; // limitado aos primeiros erros; "failed" tem o total
+    private String message;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
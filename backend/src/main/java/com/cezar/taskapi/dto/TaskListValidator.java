@@ -0,0 +1,14 @@
+package com.cezar.taskapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// Resumo barato da listagem (quantidade + ultima alteracao) usado para gerar o ETag
+@Data
+@AllArgsConstructor
+public class TaskListValidator {
+    private Long count;
+    private LocalDateTime lastModified;
+}
@@ -0,0 +1,14 @@
+package com.cezar.taskapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// Validadores HTTP da listagem: ETag da pagina e ultima alteracao (nula com a lista vazia)
+@Data
+@AllArgsConstructor
+public class TaskListingVersion {
+    private String eTag;
+    private LocalDateTime lastModified;
+}
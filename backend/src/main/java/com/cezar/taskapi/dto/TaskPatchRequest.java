@@ -0,0 +1,115 @@
+package com.cezar.taskapi.dto;
+
+import com.cezar.taskapi.model.TaskPriority;
+import com.cezar.taskapi.model.TaskStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+
+// Atualizacao parcial: campos ausentes no JSON nao sao alterados. O Jackson so chama o setter dos
+// campos presentes, entao cada setter marca o campo como informado; um null explicito limpa
+// descricao e vencimento.
+@Schema(description = "Campos da tarefa a alterar; campos ausentes permanecem como estao")
+public class TaskPatchRequest {
+
+    @Schema(description = "Titulo da tarefa", example = "Estudar Spring Boot")
+    @Size(min = 3, max = 200, message = "Titulo deve ter entre 3 e 200 caracteres")
+    private String title;
+
+    @Schema(description = "Descricao detalhada (null limpa)", example = "Completar tutorial de API REST")
+    @Size(max = 2000, message = "Descricao pode ter no maximo 2000 caracteres")
+    private String description;
+
+    @Schema(description = "Status da tarefa", example = "IN_PROGRESS")
+    private TaskStatus status;
+
+    @Schema(description = "Prioridade da tarefa", example = "HIGH")
+    private TaskPriority priority;
+
+    @Schema(description = "Data de vencimento (null limpa)", example = "2024-12-31T23:59:59")
+    private LocalDateTime dueDate;
+
+    @JsonIgnore
+    private boolean titleSet;
+    @JsonIgnore
+    private boolean descriptionSet;
+    @JsonIgnore
+    private boolean statusSet;
+    @JsonIgnore
+    private boolean prioritySet;
+    @JsonIgnore
+    private boolean dueDateSet;
+
+    // Getters e Setters
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+        this.titleSet = true;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+        this.descriptionSet = true;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+        this.statusSet = true;
+    }
+
+    public TaskPriority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(TaskPriority priority) {
+        this.priority = priority;
+        this.prioritySet = true;
+    }
+
+    public LocalDateTime getDueDate() {
+        return dueDate;
+    }
+
+    public void setDueDate(LocalDateTime dueDate) {
+        this.dueDate = dueDate;
+        this.dueDateSet = true;
+    }
+
+    @JsonIgnore
+    public boolean isTitleSet() {
+        return titleSet;
+    }
+
+    @JsonIgnore
+    public boolean isDescriptionSet() {
+        return descriptionSet;
+    }
+
+    @JsonIgnore
+    public boolean isStatusSet() {
+        return statusSet;
+    }
+
+    @JsonIgnore
+    public boolean isPrioritySet() {
+        return prioritySet;
+    }
+
+    @JsonIgnore
+    public boolean isDueDateSet() {
+        return dueDateSet;
+    }
+}
@@ -21,4 +21,5 @@ public class TaskResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private Long userId;
+    private Long version;
 }
\ No newline at end of file
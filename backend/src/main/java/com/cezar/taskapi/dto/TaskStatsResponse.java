@@ -0,0 +1,20 @@
+package com.cezar.taskapi.dto;
+
+import com.cezar.taskapi.model.TaskPriority;
+import com.cezar.taskapi.model.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStatsResponse {
+    private long total;
+    private Map<TaskStatus, Long> byStatus;
+    private Map<TaskPriority, Long> byPriority;
+    private long overdue;   // abertas (PENDING/IN_PROGRESS) com vencimento ja passado
+    private long dueToday;  // abertas que ainda vencem hoje
+}
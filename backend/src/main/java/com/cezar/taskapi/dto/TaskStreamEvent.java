@@ -0,0 +1,18 @@
+package com.cezar.taskapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Mensagem enviada em GET /api/tasks/events
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStreamEvent {
+    private String type;
+    private Long taskId;
+    private TaskResponse task;       // presente em created/updated
+    private LocalDateTime dueDate;   // presente em reminder/overdue
+}
@@ -0,0 +1,48 @@
+package com.cezar.taskapi.dto;
+
+import com.cezar.taskapi.model.TaskPriority;
+import com.cezar.taskapi.model.TaskStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+// Filtros vazios ou ausentes nao restringem; os informados sao combinados com AND
+@Data
+@Schema(description = "Transicao de status e/ou prioridade aplicada a todas as tarefas que atendem ao filtro")
+public class TaskTransitionRequest {
+
+    @Schema(description = "Somente tarefas nestes status", example = "[\"PENDING\"]")
+    private Set<TaskStatus> statuses;
+
+    @Schema(description = "Somente tarefas nestas prioridades", example = "[\"LOW\", \"MEDIUM\"]")
+    private Set<TaskPriority> priorities;
+
+    @Schema(description = "Vencimento a partir de (inclusive)", example = "2024-01-01T00:00:00")
+    private LocalDateTime dueFrom;
+
+    @Schema(description = "Vencimento antes de (exclusive); tarefas sem vencimento ficam de fora quando ha filtro de data",
+            example = "2024-12-31T00:00:00")
+    private LocalDateTime dueBefore;
+
+    @Schema(description = "Novo status", example = "CANCELLED")
+    private TaskStatus status;
+
+    @Schema(description = "Nova prioridade", example = "HIGH")
+    private TaskPriority priority;
+
+    @JsonIgnore
+    @AssertTrue(message = "Informe o novo status ou a nova prioridade")
+    public boolean isTargetPresent() {
+        return status != null || priority != null;
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "dueFrom deve ser anterior a dueBefore")
+    public boolean isDueRangeValid() {
+        return dueFrom == null || dueBefore == null || dueFrom.isBefore(dueBefore);
+    }
+}
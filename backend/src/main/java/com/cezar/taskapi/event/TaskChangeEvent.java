@@ -0,0 +1,37 @@
+package com.cezar.taskapi.event;
+
+import com.cezar.taskapi.dto.TaskDeadline;
+import com.cezar.taskapi.dto.TaskResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// Publicado pelo TaskService a cada escrita; ouvintes reagem apos o commit
+@Getter
+@AllArgsConstructor
+public class TaskChangeEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        IMPORTED, // lote de importacao gravado; taskId e task sao null
+        TRANSITIONED // transicao em massa de status/prioridade; taskId e task sao null
+    }
+
+    private final Type type;
+    private final Long userId;
+    private final Long taskId;
+    private final TaskResponse task; // null quando DELETED, IMPORTED ou TRANSITIONED
+    private final TaskResponse previous; // estado anterior em UPDATED/DELETED, quando conhecido
+    private final List<TaskDeadline> deadlines; // vencimentos das tarefas abertas do lote em IMPORTED
+
+    public TaskChangeEvent(Type type, Long userId, Long taskId, TaskResponse task) {
+        this(type, userId, taskId, task, null);
+    }
+
+    public TaskChangeEvent(Type type, Long userId, Long taskId, TaskResponse task, TaskResponse previous) {
+        this(type, userId, taskId, task, previous, List.of());
+    }
+}
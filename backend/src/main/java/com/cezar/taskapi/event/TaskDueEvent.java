@@ -0,0 +1,22 @@
+package com.cezar.taskapi.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// Publicado pelo DueDateScheduler quando uma tarefa aberta se aproxima do vencimento ou vence
+@Getter
+@AllArgsConstructor
+public class TaskDueEvent {
+
+    public enum Type {
+        REMINDER,
+        OVERDUE
+    }
+
+    private final Type type;
+    private final Long userId;
+    private final Long taskId;
+    private final LocalDateTime dueDate;
+}
@@ -3,7 +3,9 @@ package com.cezar.taskapi.model;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 
@@ -14,8 +16,10 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Task {
     
+    // Sequencia pooled (incremento 50): ao contrario de IDENTITY, permite ao Hibernate agrupar INSERTs
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -41,6 +45,14 @@ public class Task {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Bloqueio otimista: o UPDATE inclui "where version = ?" e falha se outra escrita passou antes
+    @Version
+    @Column(nullable = false)
+    private Long version;
+    
+    // Fora de toString/equals/hashCode: logar ou comparar uma tarefa nao pode carregar o usuario
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
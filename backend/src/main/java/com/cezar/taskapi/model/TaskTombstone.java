@@ -0,0 +1,30 @@
+package com.cezar.taskapi.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Marca de remocao de uma tarefa, lida pela sincronizacao incremental
+@Entity
+@Table(name = "task_tombstones")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskTombstone {
+
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+}
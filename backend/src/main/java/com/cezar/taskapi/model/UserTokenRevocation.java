@@ -0,0 +1,27 @@
+package com.cezar.taskapi.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Revogacao de todos os tokens de um usuario emitidos ate "revokedBefore"
+@Entity
+@Table(name = "user_token_revocations")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserTokenRevocation {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "revoked_before", nullable = false)
+    private LocalDateTime revokedBefore;
+}
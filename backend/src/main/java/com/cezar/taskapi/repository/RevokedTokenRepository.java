@@ -0,0 +1,31 @@
+package com.cezar.taskapi.repository;
+
+import com.cezar.taskapi.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    // Reconstrucao do filtro: somente tokens que ainda nao expiraram
+    @Transactional(readOnly = true)
+    @Query("select r.jti from RevokedToken r where r.expiresAt > :now")
+    List<String> findActiveJtis(@Param("now") LocalDateTime now);
+
+    // Atualizacao incremental pelas revogacoes feitas em outras instancias
+    @Transactional(readOnly = true)
+    @Query("select r.jti from RevokedToken r where r.revokedAt >= :since and r.expiresAt > :now")
+    List<String> findJtisRevokedSince(@Param("since") LocalDateTime since, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("delete from RevokedToken r where r.expiresAt <= :now")
+    int purgeExpired(@Param("now") LocalDateTime now);
+}
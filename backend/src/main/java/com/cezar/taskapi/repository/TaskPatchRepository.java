@@ -0,0 +1,13 @@
+package com.cezar.taskapi.repository;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+// PATCH /api/tasks/{id}: o UPDATE e montado com apenas as colunas alteradas, o que uma @Query fixa
+// nao permite (implementacao em TaskPatchRepositoryImpl, incorporada ao TaskRepository)
+public interface TaskPatchRepository {
+
+    // "changes" mapeia atributo da entidade para o novo valor (null limpa a coluna). So altera se a
+    // versao ainda e a lida; retorna 0 quando outra escrita mudou a versao ou a tarefa nao existe mais
+    int patch(Long id, Long userId, Long version, Map<String, Object> changes, LocalDateTime now);
+}
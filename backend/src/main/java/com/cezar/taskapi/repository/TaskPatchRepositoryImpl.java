@@ -0,0 +1,33 @@
+package com.cezar.taskapi.repository;
+
+import com.cezar.taskapi.model.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+class TaskPatchRepositoryImpl implements TaskPatchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int patch(Long id, Long userId, Long version, Map<String, Object> changes, LocalDateTime now) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Task> update = cb.createCriteriaUpdate(Task.class);
+        Root<Task> task = update.from(Task.class);
+
+        changes.forEach((attribute, value) -> update.set(task.get(attribute), value));
+        update.set(task.<LocalDateTime>get("updatedAt"), now);
+        update.set(task.<Long>get("version"), cb.sum(task.<Long>get("version"), 1L));
+        update.where(
+                cb.equal(task.get("id"), id),
+                cb.equal(task.get("user").get("id"), userId),
+                cb.equal(task.get("version"), version));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+}
@@ -1,14 +1,159 @@
 package com.cezar.taskapi.repository;
 
+import com.cezar.taskapi.dto.TaskDeadline;
+import com.cezar.taskapi.dto.TaskListValidator;
+import com.cezar.taskapi.dto.TaskResponse;
 import com.cezar.taskapi.model.Task;
+import com.cezar.taskapi.model.TaskPriority;
 import com.cezar.taskapi.model.TaskStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
-    Page<Task> findByUserId(Long userId, Pageable pageable);
-    Page<Task> findByUserIdAndStatus(Long userId, TaskStatus status, Pageable pageable);
-}
\ No newline at end of file
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskPatchRepository {
+
+    // Projecao direta para o DTO: sem entidades gerenciadas nem proxy de User
+    String TASK_RESPONSE_PROJECTION = "select new com.cezar.taskapi.dto.TaskResponse("
+            + "t.id, t.title, t.description, t.status, t.priority, t.dueDate, t.createdAt, t.updatedAt, t.user.id, t.version) "
+            + "from Task t ";
+
+    int EXPORT_FETCH_SIZE = 1000;
+
+    @Transactional(readOnly = true)
+    @Query(value = TASK_RESPONSE_PROJECTION + "where t.user.id = :userId",
+            countQuery = "select count(t) from Task t where t.user.id = :userId")
+    Page<TaskResponse> findResponsesByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Transactional(readOnly = true)
+    @Query(value = TASK_RESPONSE_PROJECTION + "where t.user.id = :userId and t.status = :status",
+            countQuery = "select count(t) from Task t where t.user.id = :userId and t.status = :status")
+    Page<TaskResponse> findResponsesByUserIdAndStatus(
+            @Param("userId") Long userId, @Param("status") TaskStatus status, Pageable pageable);
+
+    // Validadores para GET condicional da listagem (usam os indices por user_id)
+    @Transactional(readOnly = true)
+    @Query("select new com.cezar.taskapi.dto.TaskListValidator(count(t), max(t.updatedAt)) "
+            + "from Task t where t.user.id = :userId")
+    TaskListValidator findListValidatorByUserId(@Param("userId") Long userId);
+
+    @Transactional(readOnly = true)
+    @Query("select new com.cezar.taskapi.dto.TaskListValidator(count(t), max(t.updatedAt)) "
+            + "from Task t where t.user.id = :userId and t.status = :status")
+    TaskListValidator findListValidatorByUserIdAndStatus(
+            @Param("userId") Long userId, @Param("status") TaskStatus status);
+
+    // Operacoes restritas ao dono: um unico comando indexado, sem carregar a tarefa para checar o usuario
+    @Query(TASK_RESPONSE_PROJECTION + "where t.id = :id and t.user.id = :userId")
+    Optional<TaskResponse> findResponseByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    Optional<Task> findByIdAndUserId(Long id, Long userId);
+
+    @Modifying
+    @Query("delete from Task t where t.id = :id and t.user.id = :userId")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    // Operacoes em lote (POST /api/tasks/batch)
+    List<Task> findAllByIdInAndUserId(Collection<Long> ids, Long userId);
+
+    @Modifying
+    @Query("delete from Task t where t.id in :ids and t.user.id = :userId")
+    int deleteAllByIdInAndUserId(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    // Transicao em massa (POST /api/tasks/transition): um unico UPDATE, sem carregar as tarefas.
+    // Mantem updatedAt (sincronizacao incremental) e incrementa a versao (ETag/If-Match);
+    // tarefas que ja estao no destino nao sao regravadas nem contadas.
+    @Modifying
+    @Query("update Task t set t.status = coalesce(:status, t.status), "
+            + "t.priority = coalesce(:priority, t.priority), "
+            + "t.updatedAt = :now, t.version = t.version + 1 "
+            + "where t.user.id = :userId and t.status in :statuses and t.priority in :priorities "
+            + "and (:dueFrom is null or t.dueDate >= :dueFrom) "
+            + "and (:dueBefore is null or t.dueDate < :dueBefore) "
+            + "and (t.status <> coalesce(:status, t.status) or t.priority <> coalesce(:priority, t.priority))")
+    int transition(@Param("userId") Long userId,
+                   @Param("statuses") Collection<TaskStatus> statuses,
+                   @Param("priorities") Collection<TaskPriority> priorities,
+                   @Param("dueFrom") LocalDateTime dueFrom,
+                   @Param("dueBefore") LocalDateTime dueBefore,
+                   @Param("status") TaskStatus status,
+                   @Param("priority") TaskPriority priority,
+                   @Param("now") LocalDateTime now);
+
+    // Sincronizacao incremental: keyset por (updated_at, id) sobre idx_tasks_user_updated
+    @Transactional(readOnly = true)
+    @Query(TASK_RESPONSE_PROJECTION + "where t.user.id = :userId and t.updatedAt <= :until "
+            + "and (t.updatedAt > :since or (t.updatedAt = :since and t.id > :afterId)) "
+            + "order by t.updatedAt, t.id")
+    List<TaskResponse> findChangedSince(@Param("userId") Long userId,
+                                        @Param("since") LocalDateTime since,
+                                        @Param("afterId") Long afterId,
+                                        @Param("until") LocalDateTime until,
+                                        Limit limit);
+
+    // Estatisticas: carga inicial e reconciliacao dos contadores por usuario
+    @Transactional(readOnly = true)
+    @Query("select t.status, t.priority, count(t) from Task t where t.user.id = :userId group by t.status, t.priority")
+    List<Object[]> countByStatusAndPriority(@Param("userId") Long userId);
+
+    @Transactional(readOnly = true)
+    @Query("select t.dueDate, count(t) from Task t where t.user.id = :userId and t.dueDate is not null "
+            + "and t.status in :statuses group by t.dueDate")
+    List<Object[]> countByDueDate(@Param("userId") Long userId, @Param("statuses") Collection<TaskStatus> statuses);
+
+    // Agendador de vencimentos: tarefas abertas com prazo dentro da janela carregada
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.cezar.taskapi.dto.TaskDeadline(t.id, t.user.id, t.dueDate) from Task t "
+            + "where t.dueDate > :from and t.dueDate <= :to and t.status in :statuses")
+    Stream<TaskDeadline> streamDeadlines(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                         @Param("statuses") Collection<TaskStatus> statuses);
+
+    @Transactional(readOnly = true)
+    @Query("select new com.cezar.taskapi.dto.TaskDeadline(t.id, t.user.id, t.dueDate) from Task t "
+            + "where t.user.id = :userId and t.dueDate > :from and t.dueDate <= :to and t.status in :statuses")
+    List<TaskDeadline> findDeadlinesByUserId(@Param("userId") Long userId, @Param("from") LocalDateTime from,
+                                             @Param("to") LocalDateTime to,
+                                             @Param("statuses") Collection<TaskStatus> statuses);
+
+    // Exportacao: cursor somente-leitura com fetch size fixo; exige transacao aberta pelo chamador
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query(TASK_RESPONSE_PROJECTION + "where t.user.id = :userId order by t.createdAt, t.id")
+    Stream<TaskResponse> streamByUserId(@Param("userId") Long userId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query(TASK_RESPONSE_PROJECTION + "where t.user.id = :userId and t.status = :status order by t.createdAt, t.id")
+    Stream<TaskResponse> streamByUserIdAndStatus(@Param("userId") Long userId, @Param("status") TaskStatus status);
+
+    // Paginacao keyset: sem OFFSET e sem COUNT(*)
+    Window<Task> findByUserId(Long userId, ScrollPosition position, Sort sort, Limit limit);
+    Window<Task> findByUserIdAndStatus(Long userId, TaskStatus status, ScrollPosition position, Sort sort, Limit limit);
+}
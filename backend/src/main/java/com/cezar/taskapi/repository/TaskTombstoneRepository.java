@@ -0,0 +1,43 @@
+package com.cezar.taskapi.repository;
+
+import com.cezar.taskapi.model.TaskTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+
+    // Registra a remocao copiando as linhas que serao apagadas, antes do DELETE e na mesma transacao.
+    // Tarefas inexistentes ou de outro usuario nao geram registro.
+    @Modifying
+    @Query(value = "insert into task_tombstones (task_id, user_id, deleted_at) "
+            + "select id, user_id, :deletedAt from tasks where id in (:ids) and user_id = :userId",
+            nativeQuery = true)
+    int recordDeletions(@Param("ids") Collection<Long> ids, @Param("userId") Long userId,
+                        @Param("deletedAt") LocalDateTime deletedAt);
+
+    // Keyset por (deleted_at, task_id) sobre idx_task_tombstones_user_deleted
+    @Transactional(readOnly = true)
+    @Query("select tb from TaskTombstone tb where tb.userId = :userId and tb.deletedAt <= :until "
+            + "and (tb.deletedAt > :since or (tb.deletedAt = :since and tb.taskId > :afterId)) "
+            + "order by tb.deletedAt, tb.taskId")
+    List<TaskTombstone> findDeletedSince(@Param("userId") Long userId,
+                                         @Param("since") LocalDateTime since,
+                                         @Param("afterId") Long afterId,
+                                         @Param("until") LocalDateTime until,
+                                         Limit limit);
+
+    @Modifying
+    @Transactional
+    @Query("delete from TaskTombstone tb where tb.deletedAt < :before")
+    int purgeBefore(@Param("before") LocalDateTime before);
+}
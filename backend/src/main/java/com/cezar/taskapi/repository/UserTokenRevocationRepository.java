@@ -0,0 +1,26 @@
+package com.cezar.taskapi.repository;
+
+import com.cezar.taskapi.model.UserTokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface UserTokenRevocationRepository extends JpaRepository<UserTokenRevocation, Long> {
+
+    @Transactional(readOnly = true)
+    @Query("select r from UserTokenRevocation r where r.revokedBefore >= :since")
+    List<UserTokenRevocation> findRevokedSince(@Param("since") LocalDateTime since);
+
+    // Depois de um periodo de expiracao nenhum token emitido antes do corte continua valido
+    @Modifying
+    @Transactional
+    @Query("delete from UserTokenRevocation r where r.revokedBefore < :before")
+    int purgeBefore(@Param("before") LocalDateTime before);
+}
@@ -1,5 +1,6 @@
 package com.cezar.taskapi.service;
 
+import com.cezar.taskapi.config.QueryBudget;
 import com.cezar.taskapi.dto.AuthResponse;
 import com.cezar.taskapi.dto.LoginRequest;
 import com.cezar.taskapi.dto.RegisterRequest;
@@ -9,6 +10,7 @@ import com.cezar.taskapi.repository.UserRepository;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,19 +22,24 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final TokenRevocationService tokenRevocationService;
 
     public AuthService(
             UserRepository userRepository,
             PasswordEncoder passwordEncoder,
             JwtService jwtService,
-            AuthenticationManager authenticationManager
+            AuthenticationManager authenticationManager,
+            TokenRevocationService tokenRevocationService
     ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
         this.authenticationManager = authenticationManager;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
+    // Verificacao do email e INSERT
+    @QueryBudget(2)
     @Transactional
     public AuthResponse register(RegisterRequest request) {
         // Verificar se email já existe
@@ -49,15 +56,19 @@ public class AuthService {
         User savedUser = userRepository.save(user);
 
         // Gerar token
-        String token = jwtService.generateToken(savedUser.getEmail());
+        String token = jwtService.generateToken(savedUser);
 
         return new AuthResponse(token, mapToUserResponse(savedUser));
     }
 
+    // Uma consulta (o usuario carregado na autenticacao e reaproveitado), mais o UPDATE quando
+    // o hash da senha e regravado com o custo atual
+    @QueryBudget(2)
     public AuthResponse login(LoginRequest request) {
+        Authentication authentication;
         try {
             // Autentica usuário
-            authenticationManager.authenticate(
+            authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
                             request.getEmail(),
                             request.getPassword()
@@ -67,16 +78,27 @@ public class AuthService {
             throw new RuntimeException("Email ou senha inválidos");
         }
 
-        // Busca usuário
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+        // Usuário já carregado pelo UserDetailsService durante a autenticação
+        User user = (User) authentication.getPrincipal();
 
         // Gera token
-        String token = jwtService.generateToken(user.getEmail());
+        String token = jwtService.generateToken(user);
 
         return new AuthResponse(token, mapToUserResponse(user));
     }
 
+    // INSERT do jti revogado, precedido do SELECT do merge (id atribuido pela aplicacao)
+    @QueryBudget(2)
+    public void logout(String token) {
+        tokenRevocationService.revoke(jwtService.parseToken(token));
+    }
+
+    // SELECT e INSERT/UPDATE do corte do usuario
+    @QueryBudget(2)
+    public void revokeAll(Long userId) {
+        tokenRevocationService.revokeAll(userId);
+    }
+
     private UserResponse mapToUserResponse(User user) {
         return new UserResponse(
                 user.getId(),
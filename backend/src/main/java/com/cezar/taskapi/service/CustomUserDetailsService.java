@@ -1,13 +1,15 @@
 package com.cezar.taskapi.service;
 
+import com.cezar.taskapi.model.User;
 import com.cezar.taskapi.repository.UserRepository;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -20,4 +22,13 @@ public class CustomUserDetailsService implements UserDetailsService {
         return userRepository.findByEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado: " + username));
     }
+
+    // Chamado no login quando o hash gravado usa um custo menor que o configurado
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User entity = (User) user;
+        userRepository.updatePassword(entity.getId(), newPassword);
+        entity.setPassword(newPassword);
+        return entity;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,359 @@
+package com.cezar.taskapi.service;
+
+import com.cezar.taskapi.dto.TaskDeadline;
+import com.cezar.taskapi.dto.TaskResponse;
+import com.cezar.taskapi.event.TaskChangeEvent;
+import com.cezar.taskapi.event.TaskDueEvent;
+import com.cezar.taskapi.repository.TaskRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+// Agendador de vencimentos em memoria. Mantem em um TimingWheel os lembretes e vencimentos das
+// tarefas abertas que vencem dentro do horizonte configurado; a janela e carregada do banco na
+// subida e estendida periodicamente, e cada escrita do TaskService apenas reagenda a tarefa afetada.
+// Nada e persistido: apos um reinicio, tarefas que venceram com a aplicacao parada nao disparam.
+// O tick roda em uma thread propria: o agendador do Spring e compartilhado com tarefas longas
+// (extensao da janela, reconciliacao de contadores, reconstrucao do filtro de revogacao) que
+// atrasariam lembretes e vencimentos. A recarga de um usuario apos a transicao em massa tambem roda
+// em uma thread propria, fora da requisicao que fez a transicao.
+@Slf4j
+@Service
+public class DueDateScheduler implements MeterBinder {
+
+    private static final long TICK_MS = 1000;
+    private static final int WHEEL_SIZE = 512;
+
+    private final TaskRepository taskRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration reminderLead;
+    private final Duration horizon;
+    private final ScheduledExecutorService ticker =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("due-date-tick-"));
+    private final Executor loader;
+
+    // Wheel e mapa sao protegidos por "lock"; os eventos sao publicados fora dele
+    private final Object lock = new Object();
+    private final TimingWheel<TaskTimer> wheel = new TimingWheel<>(TICK_MS, WHEEL_SIZE, System.currentTimeMillis());
+    private final Map<Long, TaskTimer> timers = new HashMap<>();
+    private LocalDateTime loadedUntil;
+    // Tarefas reagendadas ou canceladas por evento durante uma carga do banco, com a sequencia da
+    // alteracao. A carga le um snapshot: uma tarefa concluida ou removida enquanto ela le ainda vem
+    // como aberta e seria reagendada, disparando um vencimento falso. So e preenchido com carga em curso.
+    private final Map<Long, Long> changedDuringLoad = new HashMap<>();
+    private long changeSequence;
+    private int runningLoads;
+
+    private final AtomicLong remindersFired = new AtomicLong();
+    private final AtomicLong overdueFired = new AtomicLong();
+
+    @Autowired
+    public DueDateScheduler(TaskRepository taskRepository,
+                            ApplicationEventPublisher eventPublisher,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${tasks.due.reminder-lead:PT1H}") Duration reminderLead,
+                            @Value("${tasks.due.horizon:P7D}") Duration horizon) {
+        this(taskRepository, eventPublisher, transactionManager, reminderLead, horizon,
+                Executors.newSingleThreadExecutor(new CustomizableThreadFactory("due-date-load-")));
+    }
+
+    // Testes executam a recarga na propria thread
+    DueDateScheduler(TaskRepository taskRepository, ApplicationEventPublisher eventPublisher,
+                     PlatformTransactionManager transactionManager, Duration reminderLead, Duration horizon,
+                     Executor loader) {
+        this.taskRepository = taskRepository;
+        this.eventPublisher = eventPublisher;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.reminderLead = reminderLead;
+        this.horizon = horizon;
+        this.loader = loader;
+    }
+
+    @PostConstruct
+    void start() {
+        ticker.scheduleAtFixedRate(this::tick, TICK_MS, TICK_MS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ticker.shutdownNow();
+        if (loader instanceof ExecutorService service) {
+            service.shutdownNow();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInitialWindow() {
+        extendWindow();
+    }
+
+    // Carrega os vencimentos que entraram no horizonte desde a ultima carga
+    @Scheduled(fixedDelayString = "${tasks.due.refresh-interval:PT1H}",
+            initialDelayString = "${tasks.due.refresh-interval:PT1H}")
+    public void extendWindow() {
+        LocalDateTime from;
+        LocalDateTime to = LocalDateTime.now().plus(horizon);
+        synchronized (lock) {
+            from = loadedUntil != null ? loadedUntil : LocalDateTime.now();
+        }
+        if (!to.isAfter(from)) {
+            return;
+        }
+
+        long[] loaded = {0};
+        long since = beginLoad();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<TaskDeadline> deadlines = taskRepository.streamDeadlines(
+                        from, to, TaskStatsService.OPEN_STATUSES)) {
+                    deadlines.forEach(deadline -> {
+                        synchronized (lock) {
+                            scheduleIfAbsent(deadline, since);
+                        }
+                        loaded[0]++;
+                    });
+                }
+            });
+        } finally {
+            endLoad();
+        }
+        synchronized (lock) {
+            loadedUntil = to;
+        }
+        log.debug("Vencimentos carregados de {} ate {}: {}", from, to, loaded[0]);
+    }
+
+    // Uma excecao que escapasse cancelaria as execucoes seguintes do ScheduledExecutorService
+    void tick() {
+        try {
+            fireDue();
+        } catch (RuntimeException e) {
+            log.warn("Falha ao disparar vencimentos", e);
+        }
+    }
+
+    private void fireDue() {
+        List<TaskDueEvent> due = new ArrayList<>();
+        synchronized (lock) {
+            wheel.advance(System.currentTimeMillis(), entry -> {
+                TaskTimer timer = entry.getValue();
+                boolean overdue = entry == timer.overdue;
+                if (overdue) {
+                    timers.remove(timer.taskId, timer);
+                }
+                due.add(new TaskDueEvent(overdue ? TaskDueEvent.Type.OVERDUE : TaskDueEvent.Type.REMINDER,
+                        timer.userId, timer.taskId, toLocalDateTime(timer.dueMs)));
+            });
+        }
+        for (TaskDueEvent event : due) {
+            (event.getType() == TaskDueEvent.Type.OVERDUE ? overdueFired : remindersFired).incrementAndGet();
+            eventPublisher.publishEvent(event);
+        }
+    }
+
+    // Reagenda somente quando o vencimento ou a situacao (aberta/fechada) da tarefa mudam
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChange(TaskChangeEvent event) {
+        switch (event.getType()) {
+            case CREATED, UPDATED -> {
+                TaskResponse task = event.getTask();
+                TaskResponse previous = event.getPrevious();
+                if (previous != null && Objects.equals(previous.getDueDate(), task.getDueDate())
+                        && isOpen(previous) == isOpen(task)) {
+                    return;
+                }
+                synchronized (lock) {
+                    cancel(task.getId());
+                    markChanged(task.getId());
+                    if (isOpen(task) && task.getDueDate() != null
+                            && !task.getDueDate().isAfter(LocalDateTime.now().plus(horizon))) {
+                        schedule(task.getId(), task.getUserId(), task.getDueDate());
+                    }
+                }
+            }
+            case DELETED -> {
+                synchronized (lock) {
+                    cancel(event.getTaskId());
+                    markChanged(event.getTaskId());
+                }
+            }
+            case IMPORTED -> scheduleImported(event.getDeadlines());
+            case TRANSITIONED -> reloadUser(event.getUserId());
+        }
+    }
+
+    // Tarefas importadas nao geram um evento cada: o evento do lote traz os vencimentos gravados,
+    // e so os que caem dentro do horizonte sao agendados
+    private void scheduleImported(List<TaskDeadline> deadlines) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plus(horizon);
+        synchronized (lock) {
+            for (TaskDeadline deadline : deadlines) {
+                if (deadline.getDueDate().isAfter(now) && !deadline.getDueDate().isAfter(until)) {
+                    schedule(deadline.getTaskId(), deadline.getUserId(), deadline.getDueDate());
+                }
+            }
+        }
+    }
+
+    private void loadUser(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        long since = beginLoad();
+        try {
+            List<TaskDeadline> deadlines = taskRepository.findDeadlinesByUserId(
+                    userId, now, now.plus(horizon), TaskStatsService.OPEN_STATUSES);
+            synchronized (lock) {
+                deadlines.forEach(deadline -> scheduleIfAbsent(deadline, since));
+            }
+        } finally {
+            endLoad();
+        }
+    }
+
+    // Transicao em massa pode fechar ou reabrir varias tarefas: descarta os agendamentos do usuario
+    // e recarrega do banco (percorre os agendamentos, mas so em uma operacao rara). O descarte e
+    // imediato; a consulta roda no loader, fora da thread (e do orcamento de consultas) da transicao
+    private void reloadUser(Long userId) {
+        synchronized (lock) {
+            List.copyOf(timers.values()).stream()
+                    .filter(timer -> timer.userId.equals(userId))
+                    .forEach(timer -> cancel(timer.taskId));
+        }
+        loader.execute(() -> {
+            try {
+                loadUser(userId);
+            } catch (RuntimeException e) {
+                log.warn("Falha ao recarregar os vencimentos do usuario {}", userId, e);
+            }
+        });
+    }
+
+    public int scheduledCount() {
+        synchronized (lock) {
+            return wheel.size();
+        }
+    }
+
+    // Cargas do banco nao sobrescrevem um agendamento feito por evento, que e mais recente, nem
+    // recriam uma tarefa que um evento alterou depois do inicio da carga
+    private void scheduleIfAbsent(TaskDeadline deadline, long since) {
+        Long taskId = deadline.getTaskId();
+        if (!timers.containsKey(taskId) && changedDuringLoad.getOrDefault(taskId, since) <= since) {
+            schedule(taskId, deadline.getUserId(), deadline.getDueDate());
+        }
+    }
+
+    private long beginLoad() {
+        synchronized (lock) {
+            runningLoads++;
+            return changeSequence;
+        }
+    }
+
+    private void endLoad() {
+        synchronized (lock) {
+            if (--runningLoads == 0) {
+                changedDuringLoad.clear();
+            }
+        }
+    }
+
+    private void markChanged(Long taskId) {
+        if (runningLoads > 0) {
+            changedDuringLoad.put(taskId, ++changeSequence);
+        }
+    }
+
+    private void schedule(Long taskId, Long userId, LocalDateTime dueDate) {
+        long dueMs = toEpochMillis(dueDate);
+        TaskTimer timer = new TaskTimer(taskId, userId, dueMs);
+        long reminderMs = dueMs - reminderLead.toMillis();
+        if (reminderMs > System.currentTimeMillis()) {
+            timer.reminder = wheel.schedule(reminderMs, timer);
+        }
+        timer.overdue = wheel.schedule(dueMs, timer);
+        timers.put(taskId, timer);
+    }
+
+    private void cancel(Long taskId) {
+        TaskTimer timer = timers.remove(taskId);
+        if (timer != null) {
+            wheel.cancel(timer.reminder);
+            wheel.cancel(timer.overdue);
+        }
+    }
+
+    private static boolean isOpen(TaskResponse task) {
+        return TaskStatsService.OPEN_STATUSES.contains(task.getStatus());
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tasks.due.scheduled", this, DueDateScheduler::scheduledCount)
+                .description("Lembretes e vencimentos agendados em memoria")
+                .register(registry);
+        FunctionCounter.builder("tasks.due.fired", remindersFired, AtomicLong::get)
+                .tag("type", "reminder")
+                .register(registry);
+        FunctionCounter.builder("tasks.due.fired", overdueFired, AtomicLong::get)
+                .tag("type", "overdue")
+                .register(registry);
+    }
+
+    private static final class TaskTimer {
+
+        private final Long taskId;
+        private final Long userId;
+        private final long dueMs;
+        private TimingWheel.Entry<TaskTimer> reminder;
+        private TimingWheel.Entry<TaskTimer> overdue;
+
+        private TaskTimer(Long taskId, Long userId, long dueMs) {
+            this.taskId = taskId;
+            this.userId = userId;
+            this.dueMs = dueMs;
+        }
+    }
+}
@@ -1,9 +1,20 @@
 package com.cezar.taskapi.service;
 
+import com.cezar.taskapi.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
@@ -11,10 +22,15 @@ import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Service
-public class JwtService {
+public class JwtService implements MeterBinder {
+
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLES = "roles";
 
     @Value("${jwt.secret}")
     private String secret;
@@ -22,16 +38,45 @@ public class JwtService {
     @Value("${jwt.expiration}")
     private long expiration;
 
+    @Value("${jwt.cache.max-size:10000}")
+    private long cacheMaxSize = 10000;
+
+    // Chave, parser e cache sao criados uma unica vez e reutilizados em todas as requisicoes
+    private volatile SecretKey signingKey;
+    private volatile JwtParser parser;
+    private volatile Cache<String, Claims> claimsCache;
+
+    // Registrados em bindTo; nulos fora do contexto Spring (testes unitarios)
+    private volatile Timer parseTimer;
+    private volatile Timer generateTimer;
+
     // Gerar token para um usuário
     public String generateToken(String email) {
         Map<String, Object> claims = new HashMap<>();
         return createToken(claims, email);
     }
 
+    // Gerar token com id e perfis do usuario, dispensando consulta ao banco na autenticacao
+    public String generateToken(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USER_ID, user.getId());
+        claims.put(CLAIM_ROLES, user.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList());
+        return createToken(claims, user.getEmail());
+    }
+
     // Criar o token JWT
     private String createToken(Map<String, Object> claims, String subject) {
+        Timer timer = generateTimer;
+        return timer != null ? timer.record(() -> buildToken(claims, subject)) : buildToken(claims, subject);
+    }
+
+    // O id (jti) identifica o token na revogacao por logout
+    private String buildToken(Map<String, Object> claims, String subject) {
         return Jwts.builder()
                 .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
@@ -41,8 +86,55 @@ public class JwtService {
 
     // Obter a chave de assinatura
     private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+        if (signingKey == null) {
+            initialize();
+        }
+        return signingKey;
+    }
+
+    private JwtParser getParser() {
+        if (parser == null) {
+            initialize();
+        }
+        return parser;
+    }
+
+    private Cache<String, Claims> getClaimsCache() {
+        if (claimsCache == null) {
+            initialize();
+        }
+        return claimsCache;
+    }
+
+    private synchronized void initialize() {
+        if (claimsCache != null) {
+            return;
+        }
+        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        signingKey = key;
+        parser = Jwts.parser().verifyWith(key).build();
+        claimsCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new ClaimsExpiry())
+                .recordStats()
+                .build();
+    }
+
+    // Verifica assinatura e expiracao uma unica vez; tokens repetidos saem do cache
+    public Claims parseToken(String token) {
+        Cache<String, Claims> cache = getClaimsCache();
+        Claims cached = cache.getIfPresent(token);
+        if (cached != null) {
+            return cached;
+        }
+        Timer timer = parseTimer;
+        Claims claims = timer != null ? timer.record(() -> verify(token)) : verify(token);
+        cache.put(token, claims);
+        return claims;
+    }
+
+    private Claims verify(String token) {
+        return getParser().parseSignedClaims(token).getPayload();
     }
 
     // Extrair email do token
@@ -57,27 +149,57 @@ public class JwtService {
 
     // Extrair qualquer claim do token
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = parseToken(token);
         return claimsResolver.apply(claims);
     }
 
-    // Extrair todos os claims
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
     // Verificar se token está expirado
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 
     // Validar token
     public Boolean validateToken(String token, String email) {
-        final String extractedEmail = extractEmail(token);
-        return (extractedEmail.equals(email) && !isTokenExpired(token));
+        final Claims claims = parseToken(token);
+        return (claims.getSubject().equals(email) && !isTokenExpired(claims));
+    }
+
+    // Estatisticas do cache de claims (hits, misses, evictions)
+    public CacheStats getCacheStats() {
+        return getClaimsCache().stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, getClaimsCache(), "jwt.claims");
+        // Acertos do cache de claims aparecem em cache.gets; aqui so a verificacao da assinatura
+        parseTimer = Timer.builder("jwt.parse")
+                .description("Verificacao de assinatura e expiracao de tokens fora do cache")
+                .publishPercentileHistogram()
+                .register(registry);
+        generateTimer = Timer.builder("jwt.generate")
+                .description("Emissao de tokens")
+                .register(registry);
+    }
+
+    // Cada entrada expira junto com o proprio token
+    private class ClaimsExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String token, Claims claims, long currentTime) {
+            Date exp = claims.getExpiration();
+            long remaining = exp != null ? exp.getTime() - System.currentTimeMillis() : expiration;
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remaining, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,65 @@
+package com.cezar.taskapi.service;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+// Codifica a posicao keyset (campo de ordenacao + id) em um cursor opaco
+final class TaskCursorCodec {
+
+    // Apenas campos cobertos por indice (user_id, campo, id) podem ser usados na ordenacao
+    static final Set<String> SORTABLE_FIELDS = Set.of("createdAt", "id");
+
+    private static final Map<String, Function<String, Object>> KEY_PARSERS = Map.of(
+            "createdAt", LocalDateTime::parse,
+            "id", Long::valueOf
+    );
+
+    private static final String SEPARATOR = "|";
+
+    private TaskCursorCodec() {
+    }
+
+    static String encode(String sortBy, Sort.Direction direction, KeysetScrollPosition position) {
+        StringBuilder raw = new StringBuilder(sortBy).append(SEPARATOR).append(direction.name());
+        position.getKeys().forEach((key, value) ->
+                raw.append(SEPARATOR).append(key).append('=').append(value));
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static KeysetScrollPosition decode(String cursor, String sortBy, Sort.Direction direction) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR);
+
+            if (parts.length < 3 || !parts[0].equals(sortBy) || !parts[1].equals(direction.name())) {
+                throw new IllegalArgumentException("ordenacao divergente");
+            }
+
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (int i = 2; i < parts.length; i++) {
+                String[] entry = parts[i].split("=", 2);
+                Function<String, Object> parser = KEY_PARSERS.get(entry[0]);
+                if (parser == null || entry.length != 2) {
+                    throw new IllegalArgumentException("chave desconhecida");
+                }
+                keys.put(entry[0], parser.apply(entry[1]));
+            }
+            return ScrollPosition.forward(keys);
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Cursor invalido");
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.cezar.taskapi.service;
+
+import com.cezar.taskapi.config.ServiceOverloadedException;
+import com.cezar.taskapi.dto.TaskStreamEvent;
+import com.cezar.taskapi.event.TaskChangeEvent;
+import com.cezar.taskapi.event.TaskDueEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Feed SSE das alteracoes de tarefas. Conexoes ociosas nao ocupam thread: a requisicao fica em modo
+// assincrono e so existe uma tarefa de envio (em virtual thread) enquanto ha mensagens na fila da conexao.
+// A publicacao apenas enfileira (offer), sem bloquear quem escreveu; uma conexao cuja fila enche
+// e considerada lenta e encerrada, e o cliente reconecta e resincroniza.
+@Slf4j
+@Service
+public class TaskEventBroadcaster implements MeterBinder {
+
+    // Mensagens sao montadas uma vez e compartilhadas entre as conexoes (o builder nao e reutilizavel)
+    private static final Set<ResponseBodyEmitter.DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("ping").build();
+    // Intervalo de reconexao informado ao cliente; tambem e o Retry-After de uma conexao recusada
+    private static final Duration RECONNECT_DELAY = Duration.ofSeconds(3);
+
+    private final ConcurrentMap<Long, Set<Connection>> connections = new ConcurrentHashMap<>();
+    private final Executor senders;
+    private final AtomicLong openConnections = new AtomicLong();
+    private final AtomicLong evictedConnections = new AtomicLong();
+
+    private final Duration timeout;
+    private final int bufferSize;
+    private final int maxConnectionsPerUser;
+
+    @Autowired
+    public TaskEventBroadcaster(@Value("${tasks.events.timeout:PT30M}") Duration timeout,
+                                @Value("${tasks.events.buffer-size:256}") int bufferSize,
+                                @Value("${tasks.events.max-connections-per-user:5}") int maxConnectionsPerUser) {
+        this(timeout, bufferSize, maxConnectionsPerUser, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    // Testes controlam quando as filas sao esvaziadas
+    TaskEventBroadcaster(Duration timeout, int bufferSize, int maxConnectionsPerUser, Executor senders) {
+        this.timeout = timeout;
+        this.bufferSize = bufferSize;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        this.senders = senders;
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Connection connection = new Connection(userId, emitter);
+        // Adicionada dentro do compute para nao cair em um conjunto que remove() acabou de descartar
+        connections.compute(userId, (id, userConnections) -> {
+            Set<Connection> current = userConnections != null ? userConnections : ConcurrentHashMap.newKeySet();
+            if (current.size() >= maxConnectionsPerUser) {
+                throw new ServiceOverloadedException(HttpStatus.TOO_MANY_REQUESTS,
+                        "Limite de " + maxConnectionsPerUser + " conexoes de eventos por usuario", RECONNECT_DELAY);
+            }
+            current.add(connection);
+            return current;
+        });
+        openConnections.incrementAndGet();
+
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(() -> remove(connection));
+        emitter.onError(error -> remove(connection));
+
+        // Primeira mensagem confirma a conexao e define o intervalo de reconexao do cliente
+        connection.offer(SseEmitter.event().comment("connected").reconnectTime(RECONNECT_DELAY.toMillis()).build());
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChange(TaskChangeEvent event) {
+        Set<Connection> userConnections = connections.get(event.getUserId());
+        if (userConnections == null || userConnections.isEmpty()) {
+            return;
+        }
+        String type = "task." + event.getType().name().toLowerCase(Locale.ROOT);
+        Set<ResponseBodyEmitter.DataWithMediaType> message = SseEmitter.event()
+                .name(type)
+                .data(new TaskStreamEvent(type, event.getTaskId(), event.getTask(), null))
+                .build();
+        userConnections.forEach(connection -> connection.offer(message));
+    }
+
+    @EventListener
+    public void onTaskDue(TaskDueEvent event) {
+        Set<Connection> userConnections = connections.get(event.getUserId());
+        if (userConnections == null || userConnections.isEmpty()) {
+            return;
+        }
+        String type = "task." + event.getType().name().toLowerCase(Locale.ROOT);
+        Set<ResponseBodyEmitter.DataWithMediaType> message = SseEmitter.event()
+                .name(type)
+                .data(new TaskStreamEvent(type, event.getTaskId(), null, event.getDueDate()))
+                .build();
+        userConnections.forEach(connection -> connection.offer(message));
+    }
+
+    // Mantem proxies e balanceadores com a conexao aberta e detecta clientes que ja foram embora
+    @Scheduled(fixedRateString = "${tasks.events.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        connections.values().forEach(userConnections ->
+                userConnections.forEach(connection -> connection.offer(HEARTBEAT)));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        connections.values().forEach(userConnections ->
+                userConnections.forEach(connection -> connection.emitter.complete()));
+        if (senders instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void remove(Connection connection) {
+        if (connection.closed.compareAndSet(false, true)) {
+            openConnections.decrementAndGet();
+            connections.computeIfPresent(connection.userId, (id, userConnections) -> {
+                userConnections.remove(connection);
+                return userConnections.isEmpty() ? null : userConnections;
+            });
+        }
+    }
+
+    private void evict(Connection connection) {
+        if (!connection.closed.get()) {
+            evictedConnections.incrementAndGet();
+            remove(connection);
+            connection.emitter.complete();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tasks.events.connections", openConnections, AtomicLong::get)
+                .description("Conexoes SSE abertas")
+                .register(registry);
+        FunctionCounter.builder("tasks.events.evicted", evictedConnections, AtomicLong::get)
+                .description("Conexoes SSE encerradas por consumo lento ou falha de envio")
+                .register(registry);
+    }
+
+    private final class Connection {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Connection(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        // Nunca bloqueia: fila cheia significa cliente lento
+        void offer(Set<ResponseBodyEmitter.DataWithMediaType> message) {
+            if (closed.get()) {
+                return;
+            }
+            if (!queue.offer(message)) {
+                log.debug("Conexao SSE do usuario {} encerrada: fila cheia", userId);
+                evict(this);
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                Set<ResponseBodyEmitter.DataWithMediaType> message;
+                while ((message = queue.poll()) != null) {
+                    try {
+                        emitter.send(message);
+                    } catch (IOException | IllegalStateException e) {
+                        evict(this);
+                        queue.clear();
+                        return;
+                    }
+                }
+                draining.set(false);
+                // Mensagem enfileirada entre o ultimo poll e o set(false) ainda precisa ser enviada
+            } while (!queue.isEmpty() && draining.compareAndSet(false, true));
+        }
+    }
+}
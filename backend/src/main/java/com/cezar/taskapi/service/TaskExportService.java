@@ -0,0 +1,121 @@
+package com.cezar.taskapi.service;
+
+import com.cezar.taskapi.dto.TaskResponse;
+import com.cezar.taskapi.model.TaskStatus;
+import com.cezar.taskapi.repository.TaskRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+// Exporta as tarefas de um usuario lendo o banco por cursor e escrevendo direto na saida:
+// o uso de heap nao depende da quantidade de tarefas
+@Service
+@RequiredArgsConstructor
+public class TaskExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER =
+            "id,title,description,status,priority,dueDate,createdAt,updatedAt,version";
+
+    private final TaskRepository taskRepository;
+    private final ObjectMapper objectMapper;
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format from(String value) {
+            try {
+                return valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Formato de exportacao invalido: " + value);
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void export(Long userId, TaskStatus status, Format format, OutputStream out) throws IOException {
+        try (Stream<TaskResponse> tasks = status != null
+                ? taskRepository.streamByUserIdAndStatus(userId, status)
+                : taskRepository.streamByUserId(userId)) {
+
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+            Iterator<TaskResponse> iterator = tasks.iterator();
+
+            if (format == Format.NDJSON) {
+                SequenceWriter json = objectMapper.writer().withRootValueSeparator("\n").writeValues(writer);
+                while (iterator.hasNext()) {
+                    json.write(iterator.next());
+                }
+                json.flush();
+            } else {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+                while (iterator.hasNext()) {
+                    writeCsvRow(writer, iterator.next());
+                }
+            }
+            writer.flush();
+        }
+    }
+
+    private void writeCsvRow(Writer writer, TaskResponse task) throws IOException {
+        writer.write(String.valueOf(task.getId()));
+        writer.write(',');
+        writer.write(csv(task.getTitle()));
+        writer.write(',');
+        writer.write(csv(task.getDescription()));
+        writer.write(',');
+        writer.write(csv(task.getStatus()));
+        writer.write(',');
+        writer.write(csv(task.getPriority()));
+        writer.write(',');
+        writer.write(csv(task.getDueDate()));
+        writer.write(',');
+        writer.write(csv(task.getCreatedAt()));
+        writer.write(',');
+        writer.write(csv(task.getUpdatedAt()));
+        writer.write(',');
+        writer.write(csv(task.getVersion()));
+        writer.write('\n');
+    }
+
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,66 @@
+package com.cezar.taskapi.service;
+
+import com.cezar.taskapi.dto.TaskImportError;
+import com.cezar.taskapi.dto.TaskImportJobResponse;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Estado de uma importacao em andamento, atualizado pelas threads de leitura e gravacao
+@Getter
+class TaskImportJob {
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final String id;
+    private final Long userId;
+    private final TaskExportService.Format format;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong imported = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final List<TaskImportError> errors = new ArrayList<>();
+
+    private volatile TaskImportJobResponse.Status status = TaskImportJobResponse.Status.RUNNING;
+    private volatile String message;
+    private volatile LocalDateTime finishedAt;
+
+    TaskImportJob(String id, Long userId, TaskExportService.Format format) {
+        this.id = id;
+        this.userId = userId;
+        this.format = format;
+    }
+
+    void rejectRow(long line, String reason) {
+        failed.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new TaskImportError(line, reason));
+            }
+        }
+    }
+
+    void fail(String reason) {
+        message = reason;
+        status = TaskImportJobResponse.Status.FAILED;
+    }
+
+    void finish() {
+        finishedAt = LocalDateTime.now();
+        if (status == TaskImportJobResponse.Status.RUNNING) {
+            status = TaskImportJobResponse.Status.COMPLETED;
+        }
+    }
+
+    TaskImportJobResponse toResponse() {
+        List<TaskImportError> snapshot;
+        synchronized (errors) {
+            snapshot = List.copyOf(errors);
+        }
+        return new TaskImportJobResponse(id, status, format.name(), rowsRead.get(), imported.get(),
+                failed.get(), snapshot, message, startedAt, finishedAt);
+    }
+}
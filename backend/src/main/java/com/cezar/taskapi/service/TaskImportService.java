@@ -0,0 +1,331 @@
+package com.cezar.taskapi.service;
+
+import com.cezar.taskapi.dto.TaskDeadline;
+import com.cezar.taskapi.dto.TaskImportJobResponse;
+import com.cezar.taskapi.dto.TaskRequest;
+import com.cezar.taskapi.event.TaskChangeEvent;
+import com.cezar.taskapi.model.TaskPriority;
+import com.cezar.taskapi.model.TaskStatus;
+import com.cezar.taskapi.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Importacao em massa: o upload e gravado em arquivo temporario, lido registro a registro
+// e entregue em lotes a uma thread de gravacao por uma fila limitada. Se o banco ficar
+// para tras, a leitura bloqueia na fila; a memoria usada fica limitada a alguns lotes.
+@Slf4j
+@Service
+public class TaskImportService {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int QUEUE_CAPACITY = 4;
+    private static final int MAX_QUEUED_JOBS = 8;
+    private static final List<ImportRow> END = List.of();
+
+    private final UserRepository userRepository;
+    private final TaskImportWriter taskImportWriter;
+    private final ObjectReader taskReader;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long maxBytes;
+    private final ThreadPoolExecutor executor;
+    private final ThreadPoolExecutor writers;
+    private final Cache<String, TaskImportJob> jobs = Caffeine.newBuilder()
+            .maximumSize(1_000)
+            .expireAfterWrite(Duration.ofHours(24))
+            .build();
+
+    public TaskImportService(UserRepository userRepository,
+                             TaskImportWriter taskImportWriter,
+                             ObjectMapper objectMapper,
+                             Validator validator,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${tasks.import.max-bytes:536870912}") long maxBytes,
+                             @Value("${tasks.import.max-concurrent:2}") int maxConcurrent) {
+        this.userRepository = userRepository;
+        this.taskImportWriter = taskImportWriter;
+        this.taskReader = objectMapper.readerFor(TaskRequest.class);
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.maxBytes = maxBytes;
+        this.executor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(MAX_QUEUED_JOBS), new CustomizableThreadFactory("task-import-"));
+        // Pool proprio: a leitura ocupa uma thread de "executor" e espera a gravacao, que nao pode ficar
+        // na fila atras dela. Cada importacao em execucao tem uma unica gravacao, entao cabe sempre.
+        this.writers = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxConcurrent), new CustomizableThreadFactory("task-import-writer-"));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+        writers.shutdownNow();
+    }
+
+    // Recebe o upload e agenda a importacao; o progresso e consultado por getJob
+    public TaskImportJobResponse start(Long userId, TaskExportService.Format format, InputStream upload)
+            throws IOException {
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("Usuario nao encontrado");
+        }
+
+        Path file = spool(upload);
+        TaskImportJob job = new TaskImportJob(UUID.randomUUID().toString(), userId, format);
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job, file));
+        } catch (RejectedExecutionException e) {
+            jobs.invalidate(job.getId());
+            Files.deleteIfExists(file);
+            throw new RuntimeException("Muitas importacoes em andamento, tente novamente mais tarde");
+        }
+        return job.toResponse();
+    }
+
+    public TaskImportJobResponse getJob(String jobId, Long userId) {
+        TaskImportJob job = jobs.getIfPresent(jobId);
+        if (job == null || !job.getUserId().equals(userId)) {
+            throw new RuntimeException("Importacao nao encontrada");
+        }
+        return job.toResponse();
+    }
+
+    // Copia o upload para disco com limite de tamanho, liberando a conexao HTTP rapidamente
+    private Path spool(InputStream upload) throws IOException {
+        Path file = Files.createTempFile("task-import-", ".tmp");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            byte[] buffer = new byte[64 * 1024];
+            long total = 0;
+            int read;
+            while ((read = upload.read(buffer)) != -1) {
+                total += read;
+                if (total > maxBytes) {
+                    throw new RuntimeException("Arquivo de importacao excede o limite de " + maxBytes + " bytes");
+                }
+                out.write(buffer, 0, read);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return file;
+    }
+
+    private void run(TaskImportJob job, Path file) {
+        BlockingQueue<List<ImportRow>> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        Future<?> writer = writers.submit(() -> drain(job, queue));
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            RowSink sink = new RowSink(queue);
+            if (job.getFormat() == TaskExportService.Format.CSV) {
+                parseCsv(job, reader, sink);
+            } else {
+                parseNdjson(job, reader, sink);
+            }
+            sink.flush();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail("Importacao interrompida");
+        } catch (Exception e) {
+            log.warn("Falha na leitura da importacao {}", job.getId(), e);
+            job.fail("Falha na leitura do arquivo: " + e.getMessage());
+        } finally {
+            try {
+                queue.put(END);
+                writer.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                writer.cancel(true);
+            } catch (ExecutionException e) {
+                log.warn("Falha na gravacao da importacao {}", job.getId(), e.getCause());
+                job.fail("Falha na gravacao: " + e.getCause().getMessage());
+            }
+            job.finish();
+            jobs.put(job.getId(), job);
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Nao foi possivel remover {}", file, e);
+            }
+        }
+    }
+
+    private void drain(TaskImportJob job, BlockingQueue<List<ImportRow>> queue) {
+        try {
+            List<ImportRow> batch;
+            while ((batch = queue.take()) != END) {
+                try {
+                    List<TaskDeadline> deadlines = taskImportWriter.write(job.getUserId(),
+                            batch.stream().map(ImportRow::task).toList());
+                    job.getImported().addAndGet(batch.size());
+                    eventPublisher.publishEvent(new TaskChangeEvent(
+                            TaskChangeEvent.Type.IMPORTED, job.getUserId(), null, null, null, deadlines));
+                } catch (RuntimeException e) {
+                    log.warn("Lote da importacao {} rejeitado pelo banco", job.getId(), e);
+                    String reason = "Lote rejeitado pelo banco (linhas " + batch.get(0).line()
+                            + " a " + batch.get(batch.size() - 1).line() + "): " + e.getMessage();
+                    batch.forEach(row -> job.rejectRow(row.line(), reason));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail("Importacao interrompida");
+        }
+    }
+
+    private void parseNdjson(TaskImportJob job, BufferedReader reader, RowSink sink)
+            throws IOException, InterruptedException {
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            job.getRowsRead().incrementAndGet();
+            try {
+                accept(job, sink, lineNumber, taskReader.readValue(line));
+            } catch (JsonProcessingException e) {
+                job.rejectRow(lineNumber, "JSON invalido: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private void parseCsv(TaskImportJob job, BufferedReader reader, RowSink sink)
+            throws IOException, InterruptedException {
+        TaskCsvReader csv = new TaskCsvReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+        if (!columns.containsKey("title")) {
+            throw new IOException("Cabecalho CSV sem a coluna title");
+        }
+
+        List<String> record;
+        while ((record = csv.next()) != null) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            job.getRowsRead().incrementAndGet();
+            try {
+                TaskRequest task = new TaskRequest();
+                task.setTitle(column(record, columns, "title"));
+                task.setDescription(column(record, columns, "description"));
+                String status = column(record, columns, "status");
+                if (status != null) {
+                    task.setStatus(TaskStatus.valueOf(status.trim().toUpperCase(Locale.ROOT)));
+                }
+                String priority = column(record, columns, "priority");
+                if (priority != null) {
+                    task.setPriority(TaskPriority.valueOf(priority.trim().toUpperCase(Locale.ROOT)));
+                }
+                String dueDate = column(record, columns, "dueDate");
+                if (dueDate != null) {
+                    task.setDueDate(LocalDateTime.parse(dueDate.trim()));
+                }
+                accept(job, sink, csv.recordLine(), task);
+            } catch (IllegalArgumentException e) {
+                job.rejectRow(csv.recordLine(), "Status ou prioridade invalidos");
+            } catch (DateTimeParseException e) {
+                job.rejectRow(csv.recordLine(), "Data de vencimento invalida");
+            }
+        }
+    }
+
+    private static String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size() || record.get(index).isEmpty()) {
+            return null;
+        }
+        return record.get(index);
+    }
+
+    // Aplica as mesmas regras de TaskRequest e os mesmos padroes de TaskService.create
+    private void accept(TaskImportJob job, RowSink sink, long line, TaskRequest task) throws InterruptedException {
+        Set<ConstraintViolation<TaskRequest>> violations = validator.validate(task);
+        if (!violations.isEmpty()) {
+            job.rejectRow(line, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return;
+        }
+        if (task.getStatus() == null) {
+            task.setStatus(TaskStatus.PENDING);
+        }
+        if (task.getPriority() == null) {
+            task.setPriority(TaskPriority.MEDIUM);
+        }
+        sink.add(new ImportRow(line, task));
+    }
+
+    private record ImportRow(long line, TaskRequest task) {
+    }
+
+    // Agrupa linhas validas em lotes; put bloqueia quando a fila esta cheia
+    private static final class RowSink {
+
+        private final BlockingQueue<List<ImportRow>> queue;
+        private List<ImportRow> batch = new ArrayList<>(BATCH_SIZE);
+
+        private RowSink(BlockingQueue<List<ImportRow>> queue) {
+            this.queue = queue;
+        }
+
+        void add(ImportRow row) throws InterruptedException {
+            batch.add(row);
+            if (batch.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() throws InterruptedException {
+            if (!batch.isEmpty()) {
+                queue.put(batch);
+                batch = new ArrayList<>(BATCH_SIZE);
+            }
+        }
+    }
+}
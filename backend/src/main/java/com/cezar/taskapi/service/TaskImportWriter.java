@@ -0,0 +1,139 @@
+package com.cezar.taskapi.service;
+
+import com.cezar.taskapi.dto.TaskDeadline;
+import com.cezar.taskapi.dto.TaskRequest;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Grava lotes de tarefas importadas direto via JDBC: COPY no PostgreSQL e INSERT em batch nos demais bancos.
+// Os ids saem da mesma sequencia usada pelo Hibernate (tasks_seq), em blocos do mesmo tamanho.
+@Component
+@RequiredArgsConstructor
+public class TaskImportWriter {
+
+    // Igual ao allocationSize de Task.id: cada valor da sequencia reserva o bloco (valor - 49 .. valor)
+    private static final int SEQUENCE_INCREMENT = 50;
+
+    private static final String COLUMNS =
+            "id, title, description, status, priority, due_date, created_at, updated_at, user_id, version";
+    private static final String COPY_SQL = "COPY tasks (" + COLUMNS + ") FROM STDIN WITH (FORMAT csv)";
+    private static final String INSERT_SQL = "insert into tasks (" + COLUMNS + ") values (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean postgres;
+
+    // Cada lote e gravado e confirmado em sua propria transacao. Retorna os vencimentos das tarefas
+    // abertas gravadas, para o agendador nao precisar reler a janela do usuario a cada lote
+    @Transactional
+    public List<TaskDeadline> write(Long userId, List<TaskRequest> tasks) {
+        long[] ids = allocateIds(tasks.size());
+        LocalDateTime now = LocalDateTime.now();
+
+        if (isPostgres()) {
+            copy(userId, tasks, ids, now);
+        } else {
+            batchInsert(userId, tasks, ids, now);
+        }
+
+        List<TaskDeadline> deadlines = new ArrayList<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            TaskRequest task = tasks.get(i);
+            if (task.getDueDate() != null && TaskStatsService.OPEN_STATUSES.contains(task.getStatus())) {
+                deadlines.add(new TaskDeadline(ids[i], userId, task.getDueDate()));
+            }
+        }
+        return deadlines;
+    }
+
+    private void copy(Long userId, List<TaskRequest> tasks, long[] ids, LocalDateTime now) {
+        StringBuilder csv = new StringBuilder(tasks.size() * 128);
+        for (int i = 0; i < tasks.size(); i++) {
+            TaskRequest task = tasks.get(i);
+            csv.append(ids[i]).append(',')
+                    .append(csvValue(task.getTitle())).append(',')
+                    .append(csvValue(task.getDescription())).append(',')
+                    .append(task.getStatus()).append(',')
+                    .append(task.getPriority()).append(',')
+                    .append(task.getDueDate() != null ? task.getDueDate() : "").append(',')
+                    .append(now).append(',')
+                    .append(now).append(',')
+                    .append(userId).append(",0\n");
+        }
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI()
+                        .copyIn(COPY_SQL, new StringReader(csv.toString()));
+            } catch (IOException e) {
+                throw new SQLException("Falha no COPY de tarefas", e);
+            }
+        });
+    }
+
+    private void batchInsert(Long userId, List<TaskRequest> tasks, long[] ids, LocalDateTime now) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                TaskRequest task = tasks.get(i);
+                ps.setLong(1, ids[i]);
+                ps.setString(2, task.getTitle());
+                ps.setString(3, task.getDescription());
+                ps.setString(4, task.getStatus().name());
+                ps.setString(5, task.getPriority().name());
+                ps.setObject(6, task.getDueDate());
+                ps.setObject(7, now);
+                ps.setObject(8, now);
+                ps.setLong(9, userId);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return tasks.size();
+            }
+        });
+    }
+
+    private long[] allocateIds(int count) {
+        String sql = isPostgres() ? "select nextval('tasks_seq')" : "select next value for tasks_seq";
+        long[] ids = new long[count];
+        int filled = 0;
+        while (filled < count) {
+            long high = jdbcTemplate.queryForObject(sql, Long.class);
+            for (long id = Math.max(1, high - SEQUENCE_INCREMENT + 1); id <= high && filled < count; id++) {
+                ids[filled++] = id;
+            }
+        }
+        return ids;
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            result = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    connection.isWrapperFor(PGConnection.class));
+            postgres = result;
+        }
+        return result;
+    }
+
+    // NULL no formato csv do COPY e o campo vazio sem aspas; texto sempre vai entre aspas
+    private static String csvValue(String value) {
+        if (value == null) {
+            return "";
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
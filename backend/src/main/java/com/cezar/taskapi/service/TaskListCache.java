@@ -0,0 +1,138 @@
+package com.cezar.taskapi.service;
+
+import com.cezar.taskapi.dto.TaskListValidator;
+import com.cezar.taskapi.dto.TaskResponse;
+import com.cezar.taskapi.event.TaskChangeEvent;
+import com.cezar.taskapi.model.TaskStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Cache em memoria das paginas de GET /api/tasks, limitado por tamanho estimado em bytes.
+// Cada usuario tem um numero de versao que faz parte da chave: qualquer escrita incrementa a versao
+// e as paginas antigas deixam de ser alcancaveis (sendo removidas depois pela politica de evicao).
+// As versoes ficam em um mapa limitado e saem de um contador global: um usuario descartado do mapa
+// volta com uma versao maior que qualquer outra ja emitida, nunca com uma de paginas ainda em cache.
+@Component
+public class TaskListCache implements MeterBinder {
+
+    private final Cache<ListKey, Page<TaskResponse>> pages;
+    private final Cache<ValidatorKey, TaskListValidator> validators;
+    private final Cache<Long, Long> versions;
+    private final AtomicLong versionSequence = new AtomicLong();
+
+    public TaskListCache(
+            @Value("${tasks.cache.max-bytes:33554432}") long maxBytes,
+            @Value("${tasks.cache.ttl:60s}") Duration ttl,
+            @Value("${tasks.cache.max-users:100000}") long maxUsers) {
+        this.pages = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((ListKey key, Page<TaskResponse> page) -> estimateBytes(page))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.validators = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(ttl)
+                .build();
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .build();
+    }
+
+    public Page<TaskResponse> get(Long userId, TaskStatus status, Pageable pageable, Supplier<Page<TaskResponse>> loader) {
+        ListKey key = new ListKey(
+                userId,
+                version(userId),
+                status,
+                pageable.getPageNumber(),
+                pageable.getPageSize(),
+                pageable.getSort().toString()
+        );
+        return getOrLoad(pages, key, loader);
+    }
+
+    public TaskListValidator getValidator(Long userId, TaskStatus status, Supplier<TaskListValidator> loader) {
+        ValidatorKey key = new ValidatorKey(userId, version(userId), status);
+        return getOrLoad(validators, key, loader);
+    }
+
+    // A consulta roda fora do compute do Caffeine: bloquear dentro dele prende a virtual thread ao
+    // carrier. Duas requisicoes simultaneas podem carregar a mesma pagina; fica a ultima.
+    private static <K, V> V getOrLoad(Cache<K, V> cache, K key, Supplier<V> loader) {
+        V value = cache.getIfPresent(key);
+        if (value == null) {
+            value = loader.get();
+            cache.put(key, value);
+        }
+        return value;
+    }
+
+    // Executado apos o commit, para que nenhuma leitura anterior ao commit seja cacheada na nova versao
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChange(TaskChangeEvent event) {
+        invalidate(event.getUserId());
+    }
+
+    public void invalidate(Long userId) {
+        versions.put(userId, versionSequence.incrementAndGet());
+    }
+
+    private long version(Long userId) {
+        return versions.get(userId, id -> versionSequence.incrementAndGet());
+    }
+
+    double hitRatio() {
+        return pages.stats().hitRate();
+    }
+
+    long estimatedBytes() {
+        return pages.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, pages, "tasks.list");
+        Gauge.builder("tasks.list.cache.hit.ratio", this, TaskListCache::hitRatio)
+                .description("Fracao de leituras de GET /api/tasks servidas pelo cache")
+                .register(registry);
+        Gauge.builder("tasks.list.cache.memory", this, TaskListCache::estimatedBytes)
+                .description("Tamanho estimado das paginas em cache")
+                .baseUnit(BaseUnits.BYTES)
+                .register(registry);
+    }
+
+    // Estimativa grosseira: cabecalhos de objeto + Strings compactas (1 byte por caractere latin-1)
+    private static int estimateBytes(Page<TaskResponse> page) {
+        int bytes = 256;
+        for (TaskResponse task : page.getContent()) {
+            bytes += 200 + sizeOf(task.getTitle()) + sizeOf(task.getDescription());
+        }
+        return bytes;
+    }
+
+    private static int sizeOf(String value) {
+        return value == null ? 0 : 48 + value.length();
+    }
+
+    private record ListKey(Long userId, long version, TaskStatus status, int page, int size, String sort) {
+    }
+
+    private record ValidatorKey(Long userId, long version, TaskStatus status) {
+    }
+}
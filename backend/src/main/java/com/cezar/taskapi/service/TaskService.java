@@ -1,103 +1,415 @@
 package com.cezar.taskapi.service;
 
+import com.cezar.taskapi.config.QueryBudget;
+import com.cezar.taskapi.dto.CursorPageResponse;
+import com.cezar.taskapi.dto.TaskBatchItemResult;
+import com.cezar.taskapi.dto.TaskBatchOperation;
+import com.cezar.taskapi.dto.TaskBatchRequest;
+import com.cezar.taskapi.dto.TaskBatchResponse;
+import com.cezar.taskapi.dto.TaskListValidator;
+import com.cezar.taskapi.dto.TaskListingVersion;
+import com.cezar.taskapi.dto.TaskPatchRequest;
 import com.cezar.taskapi.dto.TaskRequest;
 import com.cezar.taskapi.dto.TaskResponse;
+import com.cezar.taskapi.dto.TaskTransitionRequest;
+import com.cezar.taskapi.dto.TaskTransitionResponse;
+import com.cezar.taskapi.event.TaskChangeEvent;
 import com.cezar.taskapi.model.Task;
 import com.cezar.taskapi.model.TaskPriority;
 import com.cezar.taskapi.model.TaskStatus;
 import com.cezar.taskapi.model.User;
 import com.cezar.taskapi.repository.TaskRepository;
+import com.cezar.taskapi.repository.TaskTombstoneRepository;
 import com.cezar.taskapi.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class TaskService {
     
+    private static final int MAX_SCROLL_SIZE = 100;
+    
     private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
     private final UserRepository userRepository;
+    private final TaskListCache taskListCache;
+    private final ApplicationEventPublisher eventPublisher;
     
+    // Usuario, bloco da sequencia (1 a cada 50 tarefas) e INSERT
+    @QueryBudget(3)
     @Transactional
     public TaskResponse create(Long userId, TaskRequest request) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("Usuario nao encontrado"));
         
-        Task task = new Task();
-        task.setTitle(request.getTitle());
-        task.setDescription(request.getDescription());
-        task.setStatus(request.getStatus() != null ? request.getStatus() : TaskStatus.PENDING);
-        task.setPriority(request.getPriority() != null ? request.getPriority() : TaskPriority.MEDIUM);
-        task.setDueDate(request.getDueDate());
-        task.setUser(user);
-        
-        Task savedTask = taskRepository.save(task);
-        return mapToResponse(savedTask);
+        Task savedTask = taskRepository.save(newTask(request, user));
+        TaskResponse response = mapToResponse(savedTask);
+        eventPublisher.publishEvent(new TaskChangeEvent(
+                TaskChangeEvent.Type.CREATED, userId, response.getId(), response));
+        return response;
     }
     
+    // Sem transacao aqui: acertos no cache nao devem ocupar conexao do pool.
+    // Orcamento: pagina e contagem (dispensada quando a primeira pagina nao enche)
+    @QueryBudget(2)
     public Page<TaskResponse> findAllByUser(Long userId, Pageable pageable) {
-        return taskRepository.findByUserId(userId, pageable)
-                .map(this::mapToResponse);
+        return taskListCache.get(userId, null, pageable,
+                () -> taskRepository.findResponsesByUserId(userId, pageable));
     }
     
+    @QueryBudget(2)
     public Page<TaskResponse> findByUserAndStatus(Long userId, TaskStatus status, Pageable pageable) {
-        return taskRepository.findByUserIdAndStatus(userId, status, pageable)
-                .map(this::mapToResponse);
+        return taskListCache.get(userId, status, pageable,
+                () -> taskRepository.findResponsesByUserIdAndStatus(userId, status, pageable));
+    }
+    
+    // ETag forte e Last-Modified da listagem: mudam quando a quantidade ou a ultima
+    // alteracao mudam, sem executar a consulta paginada
+    @QueryBudget(1)
+    public TaskListingVersion listingVersion(Long userId, TaskStatus status, Pageable pageable) {
+        TaskListValidator validator = taskListCache.getValidator(userId, status, () -> status != null
+                ? taskRepository.findListValidatorByUserIdAndStatus(userId, status)
+                : taskRepository.findListValidatorByUserId(userId));
+
+        String raw = validator.getCount() + "|" + validator.getLastModified() + "|" + status
+                + "|" + pageable.getPageNumber() + "|" + pageable.getPageSize() + "|" + pageable.getSort();
+        String eTag = "\"" + DigestUtils.md5DigestAsHex(raw.getBytes(StandardCharsets.UTF_8)) + "\"";
+        return new TaskListingVersion(eTag, validator.getLastModified());
+    }
+    
+    @QueryBudget(1)
+    @Transactional(readOnly = true)
+    public CursorPageResponse<TaskResponse> scrollByUser(
+            Long userId, TaskStatus status, String cursor, int size, String sortBy, Sort.Direction direction) {
+        if (!TaskCursorCodec.SORTABLE_FIELDS.contains(sortBy)) {
+            throw new RuntimeException("Campo de ordenacao nao suportado: " + sortBy);
+        }
+        if (size < 1 || size > MAX_SCROLL_SIZE) {
+            throw new RuntimeException("Tamanho da pagina deve estar entre 1 e " + MAX_SCROLL_SIZE);
+        }
+
+        KeysetScrollPosition position = TaskCursorCodec.decode(cursor, sortBy, direction);
+        // O id e sempre usado como desempate para que a posicao seja unica
+        Sort sort = sortBy.equals("id")
+                ? Sort.by(direction, "id")
+                : Sort.by(direction, sortBy, "id");
+
+        Window<Task> window = status != null
+                ? taskRepository.findByUserIdAndStatus(userId, status, position, sort, Limit.of(size))
+                : taskRepository.findByUserId(userId, position, sort, Limit.of(size));
+
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            KeysetScrollPosition last = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+            nextCursor = TaskCursorCodec.encode(sortBy, direction, last);
+        }
+
+        return new CursorPageResponse<>(
+                window.map(this::mapToResponse).getContent(),
+                nextCursor,
+                window.hasNext(),
+                window.size()
+        );
     }
     
+    @QueryBudget(1)
+    @Transactional(readOnly = true)
     public TaskResponse findById(Long taskId, Long userId) {
-        Task task = taskRepository.findById(taskId)
+        // Tarefas de outros usuarios sao tratadas como inexistentes
+        return taskRepository.findResponseByIdAndUserId(taskId, userId)
                 .orElseThrow(() -> new RuntimeException("Tarefa não encontrada"));
+    }
+    
+    // SELECT da tarefa e UPDATE
+    @QueryBudget(2)
+    @Transactional
+    public TaskResponse update(Long taskId, Long userId, TaskRequest request, Long expectedVersion) {
+        Task task = taskRepository.findByIdAndUserId(taskId, userId)
+                .orElseThrow(() -> new RuntimeException("Tarefa não encontrada"));
+        checkVersion(task.getVersion(), expectedVersion);
+        TaskResponse previous = mapToResponse(task);
         
-        // Validar se a tarefa pertence ao usuário
-        if (!task.getUser().getId().equals(userId)) {
-            throw new RuntimeException("Acesso negado");
-        }
+        applyUpdate(task, request);
         
-        return mapToResponse(task);
+        // Flush para que versao e updatedAt da resposta ja reflitam esta alteracao
+        Task updatedTask = taskRepository.saveAndFlush(task);
+        TaskResponse response = mapToResponse(updatedTask);
+        eventPublisher.publishEvent(new TaskChangeEvent(
+                TaskChangeEvent.Type.UPDATED, userId, taskId, response, previous));
+        return response;
     }
     
+    // SELECT da tarefa (projecao, sem entidade gerenciada) e um UPDATE so das colunas alteradas,
+    // condicionado a versao lida: se outra escrita passou entre os dois comandos, nenhuma linha e
+    // alterada e a resposta e 409. Sem mudanca de valor nao ha UPDATE, nova versao nem evento.
+    @QueryBudget(2)
     @Transactional
-    public TaskResponse update(Long taskId, Long userId, TaskRequest request) {
-        Task task = taskRepository.findById(taskId)
+    public TaskResponse patch(Long taskId, Long userId, TaskPatchRequest request, Long expectedVersion) {
+        TaskResponse previous = taskRepository.findResponseByIdAndUserId(taskId, userId)
                 .orElseThrow(() -> new RuntimeException("Tarefa não encontrada"));
+        checkVersion(previous.getVersion(), expectedVersion);
         
-        // Validar se a tarefa pertence ao usuário
-        if (!task.getUser().getId().equals(userId)) {
-            throw new RuntimeException("Acesso negado");
+        TaskResponse patched = applyPatch(previous, request);
+        // Atributo -> novo valor, so para o que mudou de fato (null limpa a coluna)
+        Map<String, Object> changes = new LinkedHashMap<>();
+        if (!Objects.equals(previous.getTitle(), patched.getTitle())) {
+            changes.put("title", patched.getTitle());
         }
-        
-        task.setTitle(request.getTitle());
-        task.setDescription(request.getDescription());
-        if (request.getStatus() != null) {
-            task.setStatus(request.getStatus());
+        if (!Objects.equals(previous.getDescription(), patched.getDescription())) {
+            changes.put("description", patched.getDescription());
         }
-        if (request.getPriority() != null) {
-            task.setPriority(request.getPriority());
+        if (previous.getStatus() != patched.getStatus()) {
+            changes.put("status", patched.getStatus());
+        }
+        if (previous.getPriority() != patched.getPriority()) {
+            changes.put("priority", patched.getPriority());
+        }
+        if (!Objects.equals(previous.getDueDate(), patched.getDueDate())) {
+            changes.put("dueDate", patched.getDueDate());
+        }
+        if (changes.isEmpty()) {
+            return previous;
         }
-        task.setDueDate(request.getDueDate());
         
-        Task updatedTask = taskRepository.save(task);
-        return mapToResponse(updatedTask);
+        LocalDateTime now = LocalDateTime.now();
+        int updated = taskRepository.patch(taskId, userId, previous.getVersion(), changes, now);
+        if (updated == 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Tarefa alterada por outra requisicao");
+        }
+        patched.setUpdatedAt(now);
+        patched.setVersion(previous.getVersion() + 1);
+        eventPublisher.publishEvent(new TaskChangeEvent(
+                TaskChangeEvent.Type.UPDATED, userId, taskId, patched, previous));
+        return patched;
     }
     
+    // Versao informada pelo cliente (If-Match). No PUT a coluna @Version tambem protege o UPDATE
+    // contra uma escrita concorrente entre o SELECT e o flush (OptimisticLockingFailureException, 409)
+    private void checkVersion(Long currentVersion, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Tarefa alterada por outra requisicao (versao atual " + currentVersion + ")");
+        }
+    }
+    
+    // Registro de remocao e DELETE, sem carregar a tarefa. Sem o estado removido no evento, os
+    // contadores do usuario sao descartados e recarregados na proxima leitura
+    @QueryBudget(2)
     @Transactional
     public void delete(Long taskId, Long userId) {
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new RuntimeException("Tarefa não encontrada"));
+        // Registro de remocao para a sincronizacao incremental; desfeito junto se a tarefa nao existir
+        taskTombstoneRepository.recordDeletions(List.of(taskId), userId, LocalDateTime.now());
+        if (taskRepository.deleteByIdAndUserId(taskId, userId) == 0) {
+            throw new RuntimeException("Tarefa não encontrada");
+        }
+        eventPublisher.publishEvent(new TaskChangeEvent(TaskChangeEvent.Type.DELETED, userId, taskId, null));
+    }
+    
+    // Um unico UPDATE set-based com o filtro do pedido, restrito ao usuario. Como as tarefas nao sao
+    // carregadas, o evento nao traz estados: cache, contadores e vencimentos do usuario sao recarregados
+    @QueryBudget(1)
+    @Transactional
+    public TaskTransitionResponse transition(Long userId, TaskTransitionRequest request) {
+        int updated = taskRepository.transition(userId,
+                orAll(request.getStatuses(), TaskStatus.class),
+                orAll(request.getPriorities(), TaskPriority.class),
+                request.getDueFrom(),
+                request.getDueBefore(),
+                request.getStatus(),
+                request.getPriority(),
+                LocalDateTime.now());
+        if (updated > 0) {
+            eventPublisher.publishEvent(new TaskChangeEvent(
+                    TaskChangeEvent.Type.TRANSITIONED, userId, null, null));
+        }
+        return new TaskTransitionResponse(updated);
+    }
+    
+    // Filtro ausente ou vazio equivale a todos os valores
+    private static <E extends Enum<E>> Set<E> orAll(Set<E> values, Class<E> type) {
+        if (values == null) {
+            return EnumSet.allOf(type);
+        }
+        Set<E> present = values.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(type)));
+        return present.isEmpty() ? EnumSet.allOf(type) : present;
+    }
+    
+    // Executa todas as operacoes em uma transacao: INSERTs e UPDATEs agrupados em batch de JDBC
+    // e DELETEs em um unico comando. Tarefas inexistentes ou de outro usuario viram NOT_FOUND.
+    // Ate 500 operacoes: uma consulta das tarefas alvo, blocos de 50 para sequencia, INSERT e UPDATE,
+    // registro de remocoes e um DELETE. Cresce com o tamanho do lote, nunca com uma consulta por item.
+    @QueryBudget(40)
+    @Transactional
+    public TaskBatchResponse executeBatch(Long userId, TaskBatchRequest request) {
+        List<TaskBatchOperation> operations = request.getOperations();
+        TaskBatchItemResult[] results = new TaskBatchItemResult[operations.size()];
+        
+        // Uma unica consulta carrega todas as tarefas alvo de UPDATE/DELETE do usuario
+        Set<Long> targetIds = operations.stream()
+                .filter(operation -> operation.getOp() != TaskBatchOperation.Type.CREATE)
+                .map(TaskBatchOperation::getId)
+                .collect(Collectors.toSet());
+        Map<Long, Task> owned = targetIds.isEmpty()
+                ? Map.of()
+                : taskRepository.findAllByIdInAndUserId(targetIds, userId).stream()
+                        .collect(Collectors.toMap(Task::getId, Function.identity()));
+        
+        // Estado anterior de cada tarefa alvo, enviado nos eventos para os contadores incrementais
+        Map<Long, TaskResponse> before = owned.values().stream()
+                .collect(Collectors.toMap(Task::getId, this::mapToResponse));
         
-        // Validar se a tarefa pertence ao usuário
-        if (!task.getUser().getId().equals(userId)) {
-            throw new RuntimeException("Acesso negado");
+        User user = userRepository.getReferenceById(userId);
+        Map<Integer, Task> written = new LinkedHashMap<>();
+        Set<Long> deletedIds = new LinkedHashSet<>();
+        
+        for (int i = 0; i < operations.size(); i++) {
+            TaskBatchOperation operation = operations.get(i);
+            switch (operation.getOp()) {
+                case CREATE -> written.put(i, newTask(operation.getTask(), user));
+                case UPDATE -> {
+                    Task task = owned.get(operation.getId());
+                    if (task == null || deletedIds.contains(operation.getId())) {
+                        results[i] = notFound(i, operation);
+                    } else {
+                        applyUpdate(task, operation.getTask());
+                        written.put(i, task);
+                    }
+                }
+                case DELETE -> {
+                    if (!owned.containsKey(operation.getId()) || !deletedIds.add(operation.getId())) {
+                        results[i] = notFound(i, operation);
+                    } else {
+                        results[i] = new TaskBatchItemResult(i, operation.getOp(), operation.getId(),
+                                TaskBatchItemResult.Status.OK, null, null);
+                    }
+                }
+            }
+        }
+        
+        written.values().stream()
+                .filter(task -> task.getId() == null)
+                .forEach(taskRepository::save);
+        // Envia INSERTs/UPDATEs pendentes antes do DELETE em massa
+        taskRepository.flush();
+        if (!deletedIds.isEmpty()) {
+            taskTombstoneRepository.recordDeletions(deletedIds, userId, LocalDateTime.now());
+            taskRepository.deleteAllByIdInAndUserId(deletedIds, userId);
         }
         
-        taskRepository.delete(task);
+        written.forEach((index, task) -> {
+            TaskBatchOperation operation = operations.get(index);
+            TaskResponse response = mapToResponse(task);
+            results[index] = new TaskBatchItemResult(index, operation.getOp(), response.getId(),
+                    TaskBatchItemResult.Status.OK, response, null);
+            if (operation.getOp() == TaskBatchOperation.Type.CREATE) {
+                eventPublisher.publishEvent(new TaskChangeEvent(
+                        TaskChangeEvent.Type.CREATED, userId, response.getId(), response));
+            } else {
+                // Varios UPDATEs da mesma tarefa: so o primeiro leva o estado original, os demais nao mudam nada
+                TaskResponse previous = before.remove(task.getId());
+                eventPublisher.publishEvent(new TaskChangeEvent(TaskChangeEvent.Type.UPDATED, userId,
+                        response.getId(), response, previous != null ? previous : response));
+            }
+        });
+        deletedIds.forEach(id -> eventPublisher.publishEvent(new TaskChangeEvent(
+                TaskChangeEvent.Type.DELETED, userId, id, null, mapToResponse(owned.get(id)))));
+        
+        List<TaskBatchItemResult> resultList = Arrays.asList(results);
+        int succeeded = (int) resultList.stream()
+                .filter(result -> result.getStatus() == TaskBatchItemResult.Status.OK)
+                .count();
+        return new TaskBatchResponse(succeeded, resultList.size() - succeeded, resultList);
+    }
+    
+    // Estado resultante do PATCH, em uma copia; a tarefa lida nao e alterada
+    private TaskResponse applyPatch(TaskResponse current, TaskPatchRequest request) {
+        TaskResponse patched = new TaskResponse(current.getId(), current.getTitle(), current.getDescription(),
+                current.getStatus(), current.getPriority(), current.getDueDate(), current.getCreatedAt(),
+                current.getUpdatedAt(), current.getUserId(), current.getVersion());
+        if (request.isTitleSet()) {
+            if (request.getTitle() == null || request.getTitle().isBlank()) {
+                throw new RuntimeException("Titulo e obrigatorio");
+            }
+            patched.setTitle(request.getTitle());
+        }
+        if (request.isDescriptionSet()) {
+            patched.setDescription(request.getDescription());
+        }
+        if (request.isStatusSet()) {
+            if (request.getStatus() == null) {
+                throw new RuntimeException("Status nao pode ser nulo");
+            }
+            patched.setStatus(request.getStatus());
+        }
+        if (request.isPrioritySet()) {
+            if (request.getPriority() == null) {
+                throw new RuntimeException("Prioridade nao pode ser nula");
+            }
+            patched.setPriority(request.getPriority());
+        }
+        if (request.isDueDateSet()) {
+            patched.setDueDate(request.getDueDate());
+        }
+        return patched;
+    }
+    
+    private TaskBatchItemResult notFound(int index, TaskBatchOperation operation) {
+        return new TaskBatchItemResult(index, operation.getOp(), operation.getId(),
+                TaskBatchItemResult.Status.NOT_FOUND, null, "Tarefa não encontrada");
+    }
+    
+    private Task newTask(TaskRequest request, User user) {
+        Task task = new Task();
+        task.setTitle(request.getTitle());
+        task.setDescription(request.getDescription());
+        task.setStatus(request.getStatus() != null ? request.getStatus() : TaskStatus.PENDING);
+        task.setPriority(request.getPriority() != null ? request.getPriority() : TaskPriority.MEDIUM);
+        task.setDueDate(request.getDueDate());
+        task.setUser(user);
+        return task;
+    }
+    
+    private void applyUpdate(Task task, TaskRequest request) {
+        task.setTitle(request.getTitle());
+        task.setDescription(request.getDescription());
+        if (request.getStatus() != null) {
+            task.setStatus(request.getStatus());
+        }
+        if (request.getPriority() != null) {
+            task.setPriority(request.getPriority());
+        }
+        task.setDueDate(request.getDueDate());
     }
     
-    private TaskResponse mapToResponse(Task task) {
+    // Visivel no pacote para o TaskServiceBenchmark
+    TaskResponse mapToResponse(Task task) {
         return new TaskResponse(
                 task.getId(),
                 task.getTitle(),
@@ -107,7 +419,8 @@ public class TaskService {
                 task.getDueDate(),
                 task.getCreatedAt(),
                 task.getUpdatedAt(),
-                task.getUser().getId()
+                task.getUser().getId(),
+                task.getVersion()
         );
     }
 }
\ No newline at end of file
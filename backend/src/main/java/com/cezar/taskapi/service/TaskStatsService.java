@@ -0,0 +1,267 @@
+package com.cezar.taskapi.service;
+
+import com.cezar.taskapi.dto.TaskResponse;
+import com.cezar.taskapi.dto.TaskStatsResponse;
+import com.cezar.taskapi.event.TaskChangeEvent;
+import com.cezar.taskapi.model.TaskPriority;
+import com.cezar.taskapi.model.TaskStatus;
+import com.cezar.taskapi.repository.TaskRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Contadores de tarefas por usuario mantidos em memoria a partir dos eventos de escrita.
+// A primeira leitura de um usuario carrega os contadores com GROUP BY; depois cada evento aplica
+// apenas a diferenca entre o estado anterior e o novo. Eventos sem estado anterior conhecido
+// (importacao, transicao em massa, remocao avulsa) descartam os contadores do usuario, que sao recarregados na proxima leitura.
+// A reconciliacao periodica recalcula os usuarios em memoria e corrige qualquer divergencia.
+// Uma carga (leitura ou reconciliacao) so e guardada se nenhuma escrita do usuario estava em
+// andamento enquanto ela lia o banco: a escrita ja pode estar commitada na carga e ainda ter o
+// evento por aplicar (contada duas vezes), ou o evento ja aplicado e a linha fora da carga (perdida).
+// Escritas sao contadas desde a publicacao do evento, dentro da transacao, ate o fim dela.
+@Service
+public class TaskStatsService implements MeterBinder {
+
+    static final Set<TaskStatus> OPEN_STATUSES = Set.of(TaskStatus.PENDING, TaskStatus.IN_PROGRESS);
+
+    private final TaskRepository taskRepository;
+    private final Cache<Long, UserStats> stats;
+    // Escritas publicadas e ainda nao concluidas, por usuario; so ha entrada enquanto houver escrita
+    private final ConcurrentMap<Long, Integer> pendingWrites = new ConcurrentHashMap<>();
+    // Cargas em andamento, por usuario; uma escrita publicada durante a carga a invalida
+    private final ConcurrentMap<Long, Set<Load>> loads = new ConcurrentHashMap<>();
+    private final AtomicLong repairedUsers = new AtomicLong();
+
+    public TaskStatsService(TaskRepository taskRepository,
+                            @Value("${tasks.stats.max-users:10000}") long maxUsers) {
+        this.taskRepository = taskRepository;
+        this.stats = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .build();
+    }
+
+    public TaskStatsResponse getStats(Long userId) {
+        // Carrega fora do compute do cache: a consulta bloqueante ali dentro prenderia a virtual
+        // thread ao carrier. Com escrita concorrente a carga responde esta leitura sem ir para o cache.
+        UserStats current = stats.getIfPresent(userId);
+        if (current == null) {
+            Load load = beginLoad(userId);
+            try {
+                UserStats loaded = load(userId);
+                current = stats.asMap().compute(userId,
+                        (id, existing) -> existing != null || load.dirty ? existing : loaded);
+                if (current == null) {
+                    current = loaded;
+                }
+            } finally {
+                endLoad(userId, load);
+            }
+        }
+        return current.snapshot(LocalDateTime.now());
+    }
+
+    // Sincrono, ainda dentro da transacao da escrita e antes do commit
+    @EventListener
+    public void onTaskChangePublished(TaskChangeEvent event) {
+        Long userId = event.getUserId();
+        pendingWrites.merge(userId, 1, TaskStatsService::sumOrRemove);
+        Set<Load> running = loads.get(userId);
+        if (running != null) {
+            running.forEach(load -> load.dirty = true);
+        }
+    }
+
+    // Depois do commit (e do onTaskChange) ou do rollback
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onTaskChangeCompleted(TaskChangeEvent event) {
+        pendingWrites.merge(event.getUserId(), -1, TaskStatsService::sumOrRemove);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChange(TaskChangeEvent event) {
+        Long userId = event.getUserId();
+        switch (event.getType()) {
+            case CREATED -> apply(userId, null, event.getTask());
+            case UPDATED, DELETED -> {
+                if (event.getPrevious() != null) {
+                    apply(userId, event.getPrevious(), event.getTask());
+                } else {
+                    stats.invalidate(userId);
+                }
+            }
+            case IMPORTED, TRANSITIONED -> stats.invalidate(userId);
+        }
+    }
+
+    // Recalcula os usuarios em memoria; o intervalo limita o tempo que um contador pode ficar errado
+    @Scheduled(fixedDelayString = "${tasks.stats.reconcile-interval:PT10M}",
+            initialDelayString = "${tasks.stats.reconcile-interval:PT10M}")
+    public void reconcile() {
+        for (Long userId : List.copyOf(stats.asMap().keySet())) {
+            Load load = beginLoad(userId);
+            try {
+                UserStats fresh = load(userId);
+                // Com escrita concorrente a carga pode nao bater com os eventos; fica para a proxima rodada
+                stats.asMap().computeIfPresent(userId, (id, current) -> {
+                    if (!load.dirty && !current.sameCounts(fresh)) {
+                        repairedUsers.incrementAndGet();
+                        return fresh;
+                    }
+                    return current;
+                });
+            } finally {
+                endLoad(userId, load);
+            }
+        }
+    }
+
+    // Registra a carga antes de conferir as escritas pendentes: uma escrita publicada depois disso
+    // encontra a carga e a marca; uma publicada antes ainda esta pendente
+    private Load beginLoad(Long userId) {
+        Load load = new Load();
+        loads.compute(userId, (id, running) -> {
+            Set<Load> set = running != null ? running : ConcurrentHashMap.newKeySet();
+            set.add(load);
+            return set;
+        });
+        if (pendingWrites.containsKey(userId)) {
+            load.dirty = true;
+        }
+        return load;
+    }
+
+    private void endLoad(Long userId, Load load) {
+        loads.computeIfPresent(userId, (id, running) -> {
+            running.remove(load);
+            return running.isEmpty() ? null : running;
+        });
+    }
+
+    private static Integer sumOrRemove(Integer a, Integer b) {
+        return a + b == 0 ? null : a + b;
+    }
+
+    // Usuarios que nao estao em memoria sao ignorados: serao carregados do banco na proxima leitura
+    private void apply(Long userId, TaskResponse removed, TaskResponse added) {
+        stats.asMap().computeIfPresent(userId, (id, current) -> {
+            if (removed != null) {
+                current.add(removed, -1);
+            }
+            if (added != null) {
+                current.add(added, 1);
+            }
+            return current;
+        });
+    }
+
+    private UserStats load(Long userId) {
+        UserStats loaded = new UserStats(LocalDateTime.now());
+        for (Object[] row : taskRepository.countByStatusAndPriority(userId)) {
+            long count = (Long) row[2];
+            loaded.byStatus[((TaskStatus) row[0]).ordinal()] += count;
+            loaded.byPriority[((TaskPriority) row[1]).ordinal()] += count;
+        }
+        for (Object[] row : taskRepository.countByDueDate(userId, OPEN_STATUSES)) {
+            loaded.addDueDate((LocalDateTime) row[0], (Long) row[1]);
+        }
+        return loaded;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tasks.stats.users", stats, cache -> cache.estimatedSize())
+                .description("Usuarios com contadores de tarefas em memoria")
+                .register(registry);
+        FunctionCounter.builder("tasks.stats.reconcile.repaired", repairedUsers, AtomicLong::get)
+                .description("Usuarios cujos contadores divergiam do banco na reconciliacao")
+                .register(registry);
+    }
+
+    private static final class Load {
+        private volatile boolean dirty;
+    }
+
+    // Contadores de um usuario. Vencimentos de tarefas abertas ficam em "upcoming" ate passarem
+    // de "boundary"; cada leitura move os vencidos para "overdue", entao cada data e movida uma unica vez.
+    private static final class UserStats {
+
+        private final long[] byStatus = new long[TaskStatus.values().length];
+        private final long[] byPriority = new long[TaskPriority.values().length];
+        private final TreeMap<LocalDateTime, Long> upcoming = new TreeMap<>();
+        private long overdue;
+        private LocalDateTime boundary;
+
+        private UserStats(LocalDateTime boundary) {
+            this.boundary = boundary;
+        }
+
+        synchronized void add(TaskResponse task, int sign) {
+            byStatus[task.getStatus().ordinal()] += sign;
+            byPriority[task.getPriority().ordinal()] += sign;
+            if (task.getDueDate() != null && OPEN_STATUSES.contains(task.getStatus())) {
+                addDueDate(task.getDueDate(), sign);
+            }
+        }
+
+        private void addDueDate(LocalDateTime dueDate, long delta) {
+            if (dueDate.isBefore(boundary)) {
+                overdue += delta;
+            } else {
+                upcoming.merge(dueDate, delta, (a, b) -> a + b == 0 ? null : a + b);
+            }
+        }
+
+        synchronized TaskStatsResponse snapshot(LocalDateTime now) {
+            if (now.isAfter(boundary)) {
+                SortedMap<LocalDateTime, Long> passed = upcoming.headMap(now);
+                passed.values().forEach(count -> overdue += count);
+                passed.clear();
+                boundary = now;
+            }
+
+            long dueToday = 0;
+            for (long count : upcoming.headMap(LocalDate.now().plusDays(1).atStartOfDay()).values()) {
+                dueToday += count;
+            }
+
+            Map<TaskStatus, Long> statusCounts = new EnumMap<>(TaskStatus.class);
+            long total = 0;
+            for (TaskStatus status : TaskStatus.values()) {
+                statusCounts.put(status, byStatus[status.ordinal()]);
+                total += byStatus[status.ordinal()];
+            }
+            Map<TaskPriority, Long> priorityCounts = new EnumMap<>(TaskPriority.class);
+            for (TaskPriority priority : TaskPriority.values()) {
+                priorityCounts.put(priority, byPriority[priority.ordinal()]);
+            }
+            return new TaskStatsResponse(total, statusCounts, priorityCounts, overdue, dueToday);
+        }
+
+        // Compara pelo que o endpoint expoe, com as datas de vencimento alinhadas no mesmo instante
+        synchronized boolean sameCounts(UserStats other) {
+            LocalDateTime now = LocalDateTime.now();
+            return snapshot(now).equals(other.snapshot(now));
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.cezar.taskapi.service;
+
+import com.cezar.taskapi.dto.TaskChangesResponse;
+import com.cezar.taskapi.dto.TaskResponse;
+import com.cezar.taskapi.model.TaskTombstone;
+import com.cezar.taskapi.repository.TaskRepository;
+import com.cezar.taskapi.repository.TaskTombstoneRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+// Sincronizacao incremental: devolve as tarefas alteradas e os ids removidos depois de um cursor.
+// O cursor guarda duas posicoes keyset, (updated_at, id) das tarefas e (deleted_at, task_id) dos
+// registros de remocao. Alteracoes dos ultimos "tasks.sync.commit-lag" ficam para a proxima chamada,
+// para que uma transacao ainda nao confirmada com updated_at anterior nao seja pulada.
+@Slf4j
+@Service
+public class TaskSyncService {
+
+    private static final int MAX_LIMIT = 1000;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = "|";
+
+    private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final Duration retention;
+    private final Duration commitLag;
+
+    public TaskSyncService(TaskRepository taskRepository,
+                           TaskTombstoneRepository taskTombstoneRepository,
+                           @Value("${tasks.sync.tombstone-retention:P30D}") Duration retention,
+                           @Value("${tasks.sync.commit-lag:PT5S}") Duration commitLag) {
+        this.taskRepository = taskRepository;
+        this.taskTombstoneRepository = taskTombstoneRepository;
+        this.retention = retention;
+        this.commitLag = commitLag;
+    }
+
+    public TaskChangesResponse changesSince(Long userId, String since, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new RuntimeException("Limite deve estar entre 1 e " + MAX_LIMIT);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.minus(commitLag);
+
+        // Sem cursor o cliente nao tem nada local: recebe todas as tarefas e nenhuma remocao antiga
+        Cursor cursor = since == null || since.isBlank()
+                ? new Cursor(EPOCH, 0L, until, 0L)
+                : decode(since);
+        if (cursor.deletedAt().isBefore(now.minus(retention))) {
+            throw new ResponseStatusException(HttpStatus.GONE,
+                    "Cursor anterior ao periodo de retencao; refaca a sincronizacao completa");
+        }
+
+        List<TaskResponse> changed = taskRepository.findChangedSince(
+                userId, cursor.updatedAt(), cursor.taskId(), until, Limit.of(limit + 1));
+        List<TaskTombstone> deleted = taskTombstoneRepository.findDeletedSince(
+                userId, cursor.deletedAt(), cursor.deletedTaskId(), until, Limit.of(limit + 1));
+
+        boolean changedFull = changed.size() > limit;
+        boolean deletedFull = deleted.size() > limit;
+        if (changedFull) {
+            changed = changed.subList(0, limit);
+        }
+        if (deletedFull) {
+            deleted = deleted.subList(0, limit);
+        }
+
+        TaskResponse lastChanged = changedFull ? changed.get(changed.size() - 1) : null;
+        TaskTombstone lastDeleted = deletedFull ? deleted.get(deleted.size() - 1) : null;
+        Position tasksPosition = lastChanged != null
+                ? new Position(lastChanged.getUpdatedAt(), lastChanged.getId())
+                : drained(new Position(cursor.updatedAt(), cursor.taskId()), until);
+        Position tombstonesPosition = lastDeleted != null
+                ? new Position(lastDeleted.getDeletedAt(), lastDeleted.getTaskId())
+                : drained(new Position(cursor.deletedAt(), cursor.deletedTaskId()), until);
+        Cursor next = new Cursor(tasksPosition.at(), tasksPosition.id(),
+                tombstonesPosition.at(), tombstonesPosition.id());
+
+        return new TaskChangesResponse(
+                changed,
+                deleted.stream().map(TaskTombstone::getTaskId).toList(),
+                encode(next),
+                changedFull || deletedFull);
+    }
+
+    @Scheduled(cron = "${tasks.sync.purge-cron:0 30 3 * * *}")
+    public void purgeExpiredTombstones() {
+        int purged = taskTombstoneRepository.purgeBefore(LocalDateTime.now().minus(retention));
+        log.debug("Registros de remocao expirados apagados: {}", purged);
+    }
+
+    // Lista que coube no limite: tudo ate "until" foi entregue, entao a posicao vai para o fim de "until"
+    private static Position drained(Position current, LocalDateTime until) {
+        return current.at().isAfter(until) ? current : new Position(until, Long.MAX_VALUE);
+    }
+
+    private static String encode(Cursor cursor) {
+        String raw = String.join(SEPARATOR, VERSION,
+                cursor.updatedAt().toString(), cursor.taskId().toString(),
+                cursor.deletedAt().toString(), cursor.deletedTaskId().toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decode(String value) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 5 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException(raw);
+            }
+            return new Cursor(LocalDateTime.parse(parts[1]), Long.valueOf(parts[2]),
+                    LocalDateTime.parse(parts[3]), Long.valueOf(parts[4]));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Cursor invalido");
+        }
+    }
+
+    private record Cursor(LocalDateTime updatedAt, Long taskId, LocalDateTime deletedAt, Long deletedTaskId) {
+    }
+
+    private record Position(LocalDateTime at, Long id) {
+    }
+}
@@ -0,0 +1,175 @@
+package com.cezar.taskapi.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+// Timing wheel hierarquico: cada nivel tem "wheelSize" posicoes de "tick" ms e, quando o prazo
+// passa do alcance de um nivel, vai para o proximo (mais grosso), criado sob demanda. Agendar e
+// cancelar custam O(1); so as posicoes com entradas entram na fila de prioridade, entao avancar o
+// relogio nao percorre ticks vazios. Ao vencer uma posicao de nivel alto, suas entradas descem
+// para os niveis mais finos ate dispararem. Cancelamento e preguicoso: a entrada fica na posicao
+// marcada e e descartada quando a posicao vence.
+// Nenhuma entrada dispara antes do prazo; o atraso maximo e de um tick. Nao e thread-safe.
+public final class TimingWheel<T> {
+
+    private final Level root;
+    // Em empate, o nivel mais fino primeiro: sua posicao vencida precisa ser esvaziada antes que
+    // entradas descendo de um nivel acima reutilizem o mesmo indice
+    private final PriorityQueue<Bucket<T>> queue = new PriorityQueue<>((a, b) -> a.expiration != b.expiration
+            ? Long.compare(a.expiration, b.expiration)
+            : Integer.compare(a.depth, b.depth));
+    private final ArrayDeque<Entry<T>> ready = new ArrayDeque<>();
+    private final int wheelSize;
+    private int size;
+
+    public TimingWheel(long tickMs, int wheelSize, long startMs) {
+        this.wheelSize = wheelSize;
+        this.root = new Level(tickMs, startMs, 0);
+    }
+
+    // Prazos ja vencidos disparam no proximo advance
+    public Entry<T> schedule(long deadlineMs, T value) {
+        Entry<T> entry = new Entry<>(deadlineMs, value);
+        if (!root.add(entry)) {
+            ready.add(entry);
+        }
+        size++;
+        return entry;
+    }
+
+    public void cancel(Entry<T> entry) {
+        if (entry != null && !entry.cancelled) {
+            entry.cancelled = true;
+            size--;
+        }
+    }
+
+    // Dispara, em ordem de posicao, todas as entradas com prazo ate "nowMs"
+    public void advance(long nowMs, Consumer<Entry<T>> expired) {
+        drainReady(expired);
+        while (!queue.isEmpty() && queue.peek().expiration <= nowMs) {
+            Bucket<T> bucket = queue.poll();
+            root.advanceClock(bucket.expiration);
+            for (Entry<T> entry : bucket.flush()) {
+                if (!entry.cancelled && !root.add(entry)) {
+                    ready.add(entry);
+                }
+            }
+            drainReady(expired);
+        }
+    }
+
+    // Entradas agendadas e nao canceladas
+    public int size() {
+        return size;
+    }
+
+    private void drainReady(Consumer<Entry<T>> expired) {
+        Entry<T> entry;
+        while ((entry = ready.poll()) != null) {
+            if (!entry.cancelled) {
+                entry.cancelled = true;
+                size--;
+                expired.accept(entry);
+            }
+        }
+    }
+
+    public static final class Entry<T> {
+
+        private final long deadlineMs;
+        private final T value;
+        private boolean cancelled;
+
+        private Entry(long deadlineMs, T value) {
+            this.deadlineMs = deadlineMs;
+            this.value = value;
+        }
+
+        public long getDeadlineMs() {
+            return deadlineMs;
+        }
+
+        public T getValue() {
+            return value;
+        }
+    }
+
+    private static final class Bucket<T> {
+
+        private final int depth;
+        private List<Entry<T>> entries = new ArrayList<>();
+        private long expiration = -1;
+
+        private Bucket(int depth) {
+            this.depth = depth;
+        }
+
+        private List<Entry<T>> flush() {
+            List<Entry<T>> flushed = entries;
+            entries = new ArrayList<>();
+            expiration = -1;
+            return flushed;
+        }
+    }
+
+    private final class Level {
+
+        private final long tick;
+        private final long span;
+        private final int depth;
+        private final boolean finest;
+        private final Bucket<T>[] buckets;
+        private long current;
+        private Level overflow;
+
+        @SuppressWarnings("unchecked")
+        private Level(long tick, long startMs, int depth) {
+            this.tick = tick;
+            this.depth = depth;
+            this.finest = depth == 0;
+            this.span = tick * wheelSize;
+            this.buckets = new Bucket[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new Bucket<>(depth);
+            }
+            this.current = startMs - (startMs % tick);
+        }
+
+        // false quando a entrada ja deve disparar. No nivel mais fino a posicao vence no seu fim, para
+        // nao disparar antes do prazo; nos demais vence no inicio, quando as entradas descem de nivel.
+        private boolean add(Entry<T> entry) {
+            long deadline = entry.deadlineMs;
+            if (deadline < (finest ? current : current + tick)) {
+                return false;
+            }
+            if (deadline < current + span) {
+                long slot = deadline / tick;
+                Bucket<T> bucket = buckets[(int) (slot % wheelSize)];
+                bucket.entries.add(entry);
+                long expiration = finest ? (slot + 1) * tick : slot * tick;
+                if (bucket.expiration != expiration) {
+                    bucket.expiration = expiration;
+                    queue.add(bucket);
+                }
+                return true;
+            }
+            if (overflow == null) {
+                overflow = new Level(span, current, depth + 1);
+            }
+            return overflow.add(entry);
+        }
+
+        private void advanceClock(long timeMs) {
+            if (timeMs >= current + tick) {
+                current = timeMs - (timeMs % tick);
+                if (overflow != null) {
+                    overflow.advanceClock(current);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.cezar.taskapi.service;
+
+import com.cezar.taskapi.model.User;
+import com.cezar.taskapi.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+
+@Service
+public class TokenPrincipalService {
+
+    private final UserDetailsService userDetailsService;
+    private final UserRepository userRepository;
+
+    // Quando ativo, o principal e montado a partir das claims do token, sem consultar o banco
+    @Value("${jwt.principal.stateless:true}")
+    private boolean stateless;
+
+    // Intervalo para reconfirmar que o usuario ainda existe (0 desativa a verificacao)
+    @Value("${jwt.principal.revalidate-ttl:0s}")
+    private Duration revalidateTtl;
+
+    private Cache<Long, Boolean> activeUsers;
+
+    public TokenPrincipalService(UserDetailsService userDetailsService, UserRepository userRepository) {
+        this.userDetailsService = userDetailsService;
+        this.userRepository = userRepository;
+    }
+
+    @PostConstruct
+    void init() {
+        if (!revalidateTtl.isZero()) {
+            activeUsers = Caffeine.newBuilder()
+                    .maximumSize(10_000)
+                    .expireAfterWrite(revalidateTtl)
+                    .build();
+        }
+    }
+
+    // Monta a autenticacao a partir de claims ja verificadas
+    public UsernamePasswordAuthenticationToken authenticate(Claims claims) {
+        Long userId = extractUserId(claims);
+
+        if (!stateless || userId == null) {
+            // Tokens antigos (sem uid) ou modo stateless desativado: carrega o usuario do banco
+            UserDetails userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+            return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        }
+
+        if (activeUsers != null && !isActive(userId)) {
+            throw new UsernameNotFoundException("Usuário não encontrado: " + claims.getSubject());
+        }
+
+        User principal = new User();
+        principal.setId(userId);
+        principal.setEmail(claims.getSubject());
+
+        return new UsernamePasswordAuthenticationToken(principal, null, extractAuthorities(claims, principal));
+    }
+
+    // Consulta fora do compute do cache: bloquear ali prende a virtual thread ao carrier
+    private boolean isActive(Long userId) {
+        Boolean active = activeUsers.getIfPresent(userId);
+        if (active == null) {
+            active = userRepository.existsById(userId);
+            activeUsers.put(userId, active);
+        }
+        return active;
+    }
+
+    private Long extractUserId(Claims claims) {
+        Object raw = claims.get(JwtService.CLAIM_USER_ID);
+        return raw instanceof Number number ? number.longValue() : null;
+    }
+
+    private Collection<? extends GrantedAuthority> extractAuthorities(Claims claims, User principal) {
+        Object raw = claims.get(JwtService.CLAIM_ROLES);
+        if (raw instanceof Collection<?> roles) {
+            return roles.stream()
+                    .map(role -> new SimpleGrantedAuthority(String.valueOf(role)))
+                    .toList();
+        }
+        return principal.getAuthorities();
+    }
+}
@@ -0,0 +1,245 @@
+package com.cezar.taskapi.service;
+
+import com.cezar.taskapi.model.RevokedToken;
+import com.cezar.taskapi.model.UserTokenRevocation;
+import com.cezar.taskapi.repository.RevokedTokenRepository;
+import com.cezar.taskapi.repository.UserTokenRevocationRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Revogacao de tokens sem consulta ao banco no caminho comum. Os jti revogados por logout ficam
+// em um filtro de Bloom em memoria: um token nao revogado custa alguns acessos ao filtro e so um
+// acerto do filtro vai ao banco, para descartar falsos positivos (a resposta fica em cache).
+// A revogacao de todos os tokens de um usuario guarda um corte por usuario: tokens emitidos ate ele
+// (iat, em segundos) sao recusados, inclusive um login feito no mesmo segundo.
+// O banco e a fonte da verdade; cada instancia le as revogacoes novas periodicamente e reconstroi
+// o filtro sem os tokens ja expirados, que tambem sao apagados do banco.
+@Slf4j
+@Service
+public class TokenRevocationService implements MeterBinder {
+
+    // Margem na leitura incremental para revogacoes gravadas com relogio ou commit atrasados
+    private static final Duration REFRESH_OVERLAP = Duration.ofSeconds(5);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final UserTokenRevocationRepository userTokenRevocationRepository;
+    private final long expectedRevocations;
+    private final double falsePositiveRate;
+    private final Duration tokenLifetime;
+
+    private volatile BloomFilter filter;
+    // Corte por usuario em segundos desde a epoca (mesma resolucao do iat)
+    private final Map<Long, Long> userCutoffs = new ConcurrentHashMap<>();
+    // Resultado da consulta ao banco para jti que passaram pelo filtro
+    private final Cache<String, Boolean> confirmations;
+
+    // Inserir no filtro e troca-lo na reconstrucao nao podem se intercalar. ReentrantLock em vez de
+    // synchronized: a reconstrucao consulta o banco e nao deve prender uma virtual thread ao carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    private LocalDateTime lastRefresh;
+
+    private final AtomicLong filterHits = new AtomicLong();
+    private final AtomicLong falsePositives = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  UserTokenRevocationRepository userTokenRevocationRepository,
+                                  @Value("${jwt.revocation.expected-revocations:100000}") long expectedRevocations,
+                                  @Value("${jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+                                  @Value("${jwt.expiration}") long expirationMs) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.userTokenRevocationRepository = userTokenRevocationRepository;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.tokenLifetime = Duration.ofMillis(expirationMs);
+        this.filter = new BloomFilter(expectedRevocations, falsePositiveRate);
+        this.confirmations = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMinutes(10))
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInitialState() {
+        rebuild();
+    }
+
+    // Chamado a cada requisicao autenticada com as claims ja verificadas
+    public boolean isRevoked(Claims claims) {
+        if (isRevokedByCutoff(claims) || isRevokedById(claims.getId())) {
+            rejected.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    private boolean isRevokedByCutoff(Claims claims) {
+        if (userCutoffs.isEmpty()) {
+            return false;
+        }
+        Long userId = extractUserId(claims);
+        Date issuedAt = claims.getIssuedAt();
+        if (userId == null || issuedAt == null) {
+            return false;
+        }
+        Long cutoff = userCutoffs.get(userId);
+        return cutoff != null && issuedAt.getTime() / 1000 <= cutoff;
+    }
+
+    private boolean isRevokedById(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        filterHits.incrementAndGet();
+        // Consulta fora do compute do cache, como no TokenPrincipalService
+        Boolean revoked = confirmations.getIfPresent(jti);
+        if (revoked == null) {
+            revoked = revokedTokenRepository.existsById(jti);
+            confirmations.put(jti, revoked);
+        }
+        if (!revoked) {
+            falsePositives.incrementAndGet();
+        }
+        return revoked;
+    }
+
+    // Grava primeiro (transacao propria do repositorio) e so entao publica no filtro, para que uma
+    // reconstrucao concorrente sempre encontre a revogacao no banco
+    public void revoke(Claims claims) {
+        String jti = claims.getId();
+        Long userId = extractUserId(claims);
+        if (jti == null || userId == null) {
+            throw new RuntimeException("Token sem identificador; use a revogacao de todos os tokens");
+        }
+        revokedTokenRepository.save(new RevokedToken(jti, userId,
+                toLocalDateTime(claims.getExpiration().getTime()), LocalDateTime.now()));
+        lock.lock();
+        try {
+            filter.put(jti);
+        } finally {
+            lock.unlock();
+        }
+        confirmations.put(jti, true);
+    }
+
+    public void revokeAll(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        userTokenRevocationRepository.save(new UserTokenRevocation(userId, now));
+        userCutoffs.merge(userId, toEpochSecond(now), Math::max);
+    }
+
+    // Revogacoes feitas em outras instancias desde a ultima leitura
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-interval:PT30S}",
+            initialDelayString = "${jwt.revocation.refresh-interval:PT30S}")
+    public void refresh() {
+        LocalDateTime since;
+        LocalDateTime now = LocalDateTime.now();
+        lock.lock();
+        try {
+            if (lastRefresh == null) {
+                return;
+            }
+            since = lastRefresh.minus(REFRESH_OVERLAP);
+            List<String> jtis = revokedTokenRepository.findJtisRevokedSince(since, now);
+            BloomFilter current = filter;
+            for (String jti : jtis) {
+                current.put(jti);
+                confirmations.invalidate(jti);
+            }
+            lastRefresh = now;
+        } finally {
+            lock.unlock();
+        }
+        applyCutoffs(userTokenRevocationRepository.findRevokedSince(since));
+    }
+
+    // Descarta do banco e do filtro as revogacoes de tokens que ja expiraram
+    @Scheduled(fixedDelayString = "${jwt.revocation.rebuild-interval:PT1H}",
+            initialDelayString = "${jwt.revocation.rebuild-interval:PT1H}")
+    public void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        int purged = revokedTokenRepository.purgeExpired(now);
+        userTokenRevocationRepository.purgeBefore(now.minus(tokenLifetime));
+
+        lock.lock();
+        try {
+            BloomFilter rebuilt = new BloomFilter(expectedRevocations, falsePositiveRate);
+            List<String> active = revokedTokenRepository.findActiveJtis(now);
+            active.forEach(rebuilt::put);
+            filter = rebuilt;
+            lastRefresh = now;
+            confirmations.invalidateAll();
+            if (active.size() > expectedRevocations) {
+                log.warn("Tokens revogados ({}) acima do dimensionamento do filtro ({}); "
+                        + "aumente jwt.revocation.expected-revocations", active.size(), expectedRevocations);
+            }
+            log.debug("Filtro de revogacao reconstruido: {} ativos, {} expirados removidos", active.size(), purged);
+        } finally {
+            lock.unlock();
+        }
+
+        long oldest = toEpochSecond(now.minus(tokenLifetime));
+        userCutoffs.values().removeIf(cutoff -> cutoff < oldest);
+        applyCutoffs(userTokenRevocationRepository.findRevokedSince(now.minus(tokenLifetime)));
+    }
+
+    private void applyCutoffs(List<UserTokenRevocation> revocations) {
+        for (UserTokenRevocation revocation : revocations) {
+            userCutoffs.merge(revocation.getUserId(), toEpochSecond(revocation.getRevokedBefore()), Math::max);
+        }
+    }
+
+    private Long extractUserId(Claims claims) {
+        Object raw = claims.get(JwtService.CLAIM_USER_ID);
+        return raw instanceof Number number ? number.longValue() : null;
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("jwt.revocation.filter.fill", this, service -> service.filter.fillRatio())
+                .description("Fracao de bits ligados no filtro de Bloom de tokens revogados")
+                .register(registry);
+        Gauge.builder("jwt.revocation.users", userCutoffs, Map::size)
+                .description("Usuarios com revogacao de todos os tokens em vigor")
+                .register(registry);
+        FunctionCounter.builder("jwt.revocation.filter.hits", filterHits, AtomicLong::get)
+                .description("Tokens que passaram pelo filtro de Bloom e exigiram confirmacao")
+                .register(registry);
+        FunctionCounter.builder("jwt.revocation.filter.false-positives", falsePositives, AtomicLong::get)
+                .description("Acertos do filtro de Bloom de tokens que nao estavam revogados")
+                .register(registry);
+        FunctionCounter.builder("jwt.revocation.rejected", rejected, AtomicLong::get)
+                .description("Requisicoes com token revogado")
+                .register(registry);
+    }
+}
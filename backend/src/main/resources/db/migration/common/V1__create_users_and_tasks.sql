@@ -0,0 +1,22 @@
+-- Esquema inicial (equivalente ao que o Hibernate gerava com ddl-auto=update)
+CREATE TABLE IF NOT EXISTS users (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(255) NOT NULL,
+    email       VARCHAR(255) NOT NULL,
+    password    VARCHAR(255) NOT NULL,
+    created_at  TIMESTAMP    NOT NULL,
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS tasks (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title        VARCHAR(255) NOT NULL,
+    description  TEXT,
+    status       VARCHAR(20)  NOT NULL,
+    priority     VARCHAR(20)  NOT NULL,
+    due_date     TIMESTAMP,
+    created_at   TIMESTAMP    NOT NULL,
+    updated_at   TIMESTAMP,
+    user_id      BIGINT       NOT NULL,
+    CONSTRAINT fk_tasks_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
@@ -0,0 +1,11 @@
+-- Indices compostos para os caminhos de acesso do TaskRepository.
+-- O id no final permite ordenacao estavel (keyset) sem passo extra de sort.
+
+-- findByUserId ordenado por created_at
+CREATE INDEX IF NOT EXISTS idx_tasks_user_created ON tasks (user_id, created_at, id);
+
+-- findByUserIdAndStatus ordenado por created_at
+CREATE INDEX IF NOT EXISTS idx_tasks_user_status_created ON tasks (user_id, status, created_at, id);
+
+-- Filtros e ordenacao por data de vencimento
+CREATE INDEX IF NOT EXISTS idx_tasks_user_due_date ON tasks (user_id, due_date);
@@ -0,0 +1,2 @@
+-- Versao da linha: base dos ETags e, futuramente, do lock otimista
+ALTER TABLE tasks ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
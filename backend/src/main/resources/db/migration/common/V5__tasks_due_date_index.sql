@@ -0,0 +1,2 @@
+-- Carga da janela de vencimentos do agendador (todos os usuarios, por intervalo de due_date)
+CREATE INDEX IF NOT EXISTS idx_tasks_due_date ON tasks (due_date);
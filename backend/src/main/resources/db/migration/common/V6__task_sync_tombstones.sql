@@ -0,0 +1,18 @@
+-- Sincronizacao incremental (GET /api/tasks/changes)
+
+-- Linhas antigas sem updated_at passam a ter a data de criacao, para entrarem na ordenacao por updated_at
+UPDATE tasks SET updated_at = created_at WHERE updated_at IS NULL;
+
+-- Tarefas alteradas depois de um cursor, em ordem estavel (updated_at, id)
+CREATE INDEX IF NOT EXISTS idx_tasks_user_updated ON tasks (user_id, updated_at, id);
+
+-- Registro das tarefas removidas, mantido pelo periodo de retencao configurado
+CREATE TABLE IF NOT EXISTS task_tombstones (
+    task_id     BIGINT    PRIMARY KEY,
+    user_id     BIGINT    NOT NULL,
+    deleted_at  TIMESTAMP NOT NULL,
+    CONSTRAINT fk_task_tombstones_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_task_tombstones_user_deleted ON task_tombstones (user_id, deleted_at, task_id);
+CREATE INDEX IF NOT EXISTS idx_task_tombstones_deleted ON task_tombstones (deleted_at);
@@ -0,0 +1,22 @@
+-- Revogacao de tokens (POST /api/auth/logout e /api/auth/revoke-all)
+
+-- Tokens revogados individualmente, mantidos ate a expiracao do proprio token
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    jti         VARCHAR(64) PRIMARY KEY,
+    user_id     BIGINT      NOT NULL,
+    expires_at  TIMESTAMP   NOT NULL,
+    revoked_at  TIMESTAMP   NOT NULL,
+    CONSTRAINT fk_revoked_tokens_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires ON revoked_tokens (expires_at);
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_revoked ON revoked_tokens (revoked_at);
+
+-- Revogacao de todos os tokens de um usuario: invalida os emitidos ate revoked_before
+CREATE TABLE IF NOT EXISTS user_token_revocations (
+    user_id         BIGINT    PRIMARY KEY,
+    revoked_before  TIMESTAMP NOT NULL,
+    CONSTRAINT fk_user_token_revocations_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_user_token_revocations_before ON user_token_revocations (revoked_before);
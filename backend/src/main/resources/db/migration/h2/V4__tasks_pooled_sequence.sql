@@ -0,0 +1,2 @@
+-- Sequencia com incremento 50 para o otimizador pooled do Hibernate (permite batch de INSERT)
+CREATE SEQUENCE IF NOT EXISTS tasks_seq START WITH 1 INCREMENT BY 50;
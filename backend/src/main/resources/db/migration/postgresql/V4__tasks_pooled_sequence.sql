@@ -0,0 +1,5 @@
+-- Sequencia com incremento 50 para o otimizador pooled do Hibernate (permite batch de INSERT).
+-- Cada nextval reserva o bloco (valor - 49 .. valor); o inicio fica acima dos ids ja existentes.
+CREATE SEQUENCE IF NOT EXISTS tasks_seq START WITH 1 INCREMENT BY 50;
+
+SELECT setval('tasks_seq', (SELECT COALESCE(MAX(id), 0) FROM tasks) + 50);
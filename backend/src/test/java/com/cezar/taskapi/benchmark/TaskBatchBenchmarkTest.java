@@ -0,0 +1,116 @@
+package com.cezar.taskapi.benchmark;
+
+import com.cezar.taskapi.dto.AuthResponse;
+import com.cezar.taskapi.dto.RegisterRequest;
+import com.cezar.taskapi.dto.TaskBatchOperation;
+import com.cezar.taskapi.dto.TaskBatchRequest;
+import com.cezar.taskapi.dto.TaskRequest;
+import com.cezar.taskapi.service.AuthService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Compara a vazao de criacao de tarefas: POST /api/tasks por item x POST /api/tasks/batch.
+// Executar com: ./mvnw test -Pbenchmark -Dtest=TaskBatchBenchmarkTest
+@Tag("benchmark")
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "tasks.rate-limit.enabled=false"})
+@AutoConfigureMockMvc
+@DisplayName("Benchmark - criacao em lote x por requisicao")
+class TaskBatchBenchmarkTest {
+
+    private static final int TASKS = 5_000;
+    private static final int BATCH_SIZE = 500;
+    private static final int WARMUP_TASKS = 500;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuthService authService;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        RegisterRequest register = new RegisterRequest();
+        register.setName("Benchmark");
+        register.setEmail("bench-" + UUID.randomUUID() + "@email.com");
+        register.setPassword("senha123");
+        AuthResponse auth = authService.register(register);
+        token = "Bearer " + auth.getToken();
+    }
+
+    @Test
+    @DisplayName("Vazao de criacao: individual x lote")
+    void compareThroughput() throws Exception {
+        createOneByOne(WARMUP_TASKS);
+        createInBatches(WARMUP_TASKS);
+
+        long start = System.nanoTime();
+        createOneByOne(TASKS);
+        double singleSeconds = (System.nanoTime() - start) / 1e9;
+
+        start = System.nanoTime();
+        createInBatches(TASKS);
+        double batchSeconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%n=== Criacao de %d tarefas ===%n", TASKS);
+        System.out.printf("Por requisicao : %8.2f s  %10.0f tarefas/s%n", singleSeconds, TASKS / singleSeconds);
+        System.out.printf("Lote de %4d   : %8.2f s  %10.0f tarefas/s%n", BATCH_SIZE, batchSeconds, TASKS / batchSeconds);
+        System.out.printf("Ganho          : %8.1fx%n", singleSeconds / batchSeconds);
+    }
+
+    private void createOneByOne(int count) throws Exception {
+        for (int i = 0; i < count; i++) {
+            mockMvc.perform(post("/api/tasks")
+                            .header("Authorization", token)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(taskRequest(i))))
+                    .andExpect(status().isCreated());
+        }
+    }
+
+    private void createInBatches(int count) throws Exception {
+        for (int offset = 0; offset < count; offset += BATCH_SIZE) {
+            List<TaskBatchOperation> operations = new ArrayList<>();
+            for (int i = offset; i < Math.min(count, offset + BATCH_SIZE); i++) {
+                TaskBatchOperation operation = new TaskBatchOperation();
+                operation.setOp(TaskBatchOperation.Type.CREATE);
+                operation.setTask(taskRequest(i));
+                operations.add(operation);
+            }
+            TaskBatchRequest request = new TaskBatchRequest();
+            request.setOperations(operations);
+
+            mockMvc.perform(post("/api/tasks/batch")
+                            .header("Authorization", token)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    private TaskRequest taskRequest(int i) {
+        TaskRequest request = new TaskRequest();
+        request.setTitle("Tarefa benchmark " + i);
+        request.setDescription("Descricao da tarefa " + i);
+        return request;
+    }
+}
@@ -0,0 +1,101 @@
+package com.cezar.taskapi.benchmark;
+
+import com.cezar.taskapi.service.TimingWheel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Agenda milhoes de vencimentos espalhados em 7 dias, cancela 10% (como tarefas concluidas)
+// e avanca o relogio segundo a segundo ate o fim, comparando o TimingWheel com um heap.
+// Executar com: ./mvnw test -Pbenchmark -Dtest=TimingWheelBenchmarkTest
+@Tag("benchmark")
+@DisplayName("Benchmark - timing wheel x heap para vencimentos")
+class TimingWheelBenchmarkTest {
+
+    private static final int DEADLINES = 2_000_000;
+    private static final long SPAN_MS = 7L * 24 * 60 * 60 * 1000;
+    private static final long TICK_MS = 1000;
+
+    @Test
+    @DisplayName("Agendar, cancelar e disparar 2 milhoes de vencimentos")
+    void compareWithHeap() {
+        long[] deadlines = new long[DEADLINES];
+        Random random = new Random(42);
+        for (int i = 0; i < DEADLINES; i++) {
+            deadlines[i] = 1 + (long) (random.nextDouble() * SPAN_MS);
+        }
+
+        runWheel(deadlines);
+        runHeap(deadlines);
+        Result wheel = runWheel(deadlines);
+        Result heap = runHeap(deadlines);
+
+        assertEquals(wheel.fired, heap.fired);
+        System.out.printf("%n=== %,d vencimentos em 7 dias (10%% cancelados) ===%n", DEADLINES);
+        System.out.printf("%-12s %12s %12s %12s%n", "", "agendar", "cancelar", "disparar");
+        print("TimingWheel", wheel);
+        print("Heap", heap);
+    }
+
+    private Result runWheel(long[] deadlines) {
+        TimingWheel<Integer> wheel = new TimingWheel<>(TICK_MS, 512, 0);
+        @SuppressWarnings("unchecked")
+        TimingWheel.Entry<Integer>[] entries = new TimingWheel.Entry[deadlines.length];
+
+        long start = System.nanoTime();
+        for (int i = 0; i < deadlines.length; i++) {
+            entries[i] = wheel.schedule(deadlines[i], i);
+        }
+        long scheduled = System.nanoTime();
+        for (int i = 0; i < deadlines.length; i += 10) {
+            wheel.cancel(entries[i]);
+        }
+        long cancelled = System.nanoTime();
+        long[] fired = {0};
+        for (long now = 0; now <= SPAN_MS + TICK_MS; now += TICK_MS) {
+            wheel.advance(now, entry -> fired[0]++);
+        }
+        long done = System.nanoTime();
+        return new Result(scheduled - start, cancelled - scheduled, done - cancelled, fired[0]);
+    }
+
+    // Heap com cancelamento preguicoso (remove(Object) seria O(n))
+    private Result runHeap(long[] deadlines) {
+        PriorityQueue<long[]> heap = new PriorityQueue<>(deadlines.length, (a, b) -> Long.compare(a[0], b[0]));
+        long[][] entries = new long[deadlines.length][];
+
+        long start = System.nanoTime();
+        for (int i = 0; i < deadlines.length; i++) {
+            entries[i] = new long[]{deadlines[i], 0};
+            heap.add(entries[i]);
+        }
+        long scheduled = System.nanoTime();
+        for (int i = 0; i < deadlines.length; i += 10) {
+            entries[i][1] = 1;
+        }
+        long cancelled = System.nanoTime();
+        long fired = 0;
+        for (long now = 0; now <= SPAN_MS + TICK_MS; now += TICK_MS) {
+            while (!heap.isEmpty() && heap.peek()[0] <= now) {
+                if (heap.poll()[1] == 0) {
+                    fired++;
+                }
+            }
+        }
+        long done = System.nanoTime();
+        return new Result(scheduled - start, cancelled - scheduled, done - cancelled, fired);
+    }
+
+    private void print(String name, Result result) {
+        System.out.printf("%-12s %9.0f ms %9.0f ms %9.0f ms%n", name,
+                result.scheduleNanos / 1e6, result.cancelNanos / 1e6, result.fireNanos / 1e6);
+    }
+
+    private record Result(long scheduleNanos, long cancelNanos, long fireNanos, long fired) {
+    }
+}
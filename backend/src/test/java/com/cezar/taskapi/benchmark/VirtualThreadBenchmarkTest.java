@@ -0,0 +1,143 @@
+package com.cezar.taskapi.benchmark;
+
+import com.cezar.taskapi.TaskapiApplication;
+import com.cezar.taskapi.dto.AuthResponse;
+import com.cezar.taskapi.dto.RegisterRequest;
+import com.cezar.taskapi.dto.TaskRequest;
+import com.cezar.taskapi.service.AuthService;
+import com.cezar.taskapi.service.TaskService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Sobe a aplicacao duas vezes (threads de plataforma e perfil "virtual") e dispara o mesmo volume de
+// GET /api/tasks com muitos clientes simultaneos. O cache de listagem fica desligado para que toda
+// requisicao chegue ao banco. Mede vazao, p50/p99 e quantas respostas foram 503 (limite de concorrencia).
+// Executar com: ./mvnw test -Pbenchmark -Dtest=VirtualThreadBenchmarkTest
+@Tag("benchmark")
+@DisplayName("Benchmark - threads de plataforma x virtual threads")
+class VirtualThreadBenchmarkTest {
+
+    private static final int CLIENTS = 500;
+    private static final int REQUESTS_PER_CLIENT = 40;
+    private static final int WARMUP_REQUESTS_PER_CLIENT = 5;
+    private static final int TASKS = 200;
+
+    @Test
+    @DisplayName("Vazao e p99 de GET /api/tasks com 500 clientes")
+    void comparePlatformAndVirtualThreads() throws Exception {
+        Result platform = run("platform", "dev");
+        Result virtual = run("virtual", "dev,virtual");
+
+        System.out.printf("%n=== %d clientes x %d requisicoes em GET /api/tasks ===%n", CLIENTS, REQUESTS_PER_CLIENT);
+        System.out.printf("%-10s %12s %10s %10s %8s%n", "", "req/s", "p50", "p99", "503");
+        print("Plataforma", platform);
+        print("Virtual", virtual);
+    }
+
+    private Result run(String name, String profiles) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskapiApplication.class)
+                .profiles(profiles.split(","))
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:bench-" + name + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "tasks.cache.ttl=0s",
+                        "tasks.rate-limit.enabled=false")
+                .run()) {
+
+            int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+            String token = seed(context);
+            URI uri = URI.create("http://localhost:" + port + "/api/tasks?page=0&size=20");
+
+            try (HttpClient client = HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build()) {
+                HttpRequest request = HttpRequest.newBuilder(uri)
+                        .header("Authorization", token)
+                        .GET()
+                        .build();
+
+                drive(client, request, WARMUP_REQUESTS_PER_CLIENT);
+                return drive(client, request, REQUESTS_PER_CLIENT);
+            }
+        }
+    }
+
+    private String seed(ConfigurableApplicationContext context) {
+        RegisterRequest register = new RegisterRequest();
+        register.setName("Benchmark");
+        register.setEmail("bench@email.com");
+        register.setPassword("senha123");
+        AuthResponse auth = context.getBean(AuthService.class).register(register);
+
+        TaskService taskService = context.getBean(TaskService.class);
+        for (int i = 0; i < TASKS; i++) {
+            TaskRequest task = new TaskRequest();
+            task.setTitle("Tarefa benchmark " + i);
+            task.setDescription("Descricao da tarefa " + i);
+            taskService.create(auth.getUser().getId(), task);
+        }
+        return "Bearer " + auth.getToken();
+    }
+
+    private Result drive(HttpClient client, HttpRequest request, int requestsPerClient) throws Exception {
+        long[] latencies = new long[CLIENTS * requestsPerClient];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                futures.add(clients.submit(() -> {
+                    for (int i = 0; i < requestsPerClient; i++) {
+                        long sent = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        latencies[next.getAndIncrement()] = System.nanoTime() - sent;
+                        if (response.statusCode() == 503) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Arrays.sort(latencies);
+        return new Result(latencies.length / seconds, percentile(latencies, 0.50),
+                percentile(latencies, 0.99), rejected.get());
+    }
+
+    private long percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+
+    private void print(String name, Result result) {
+        System.out.printf("%-10s %12.0f %7.1f ms %7.1f ms %8d%n", name, result.throughput,
+                result.p50Nanos / 1e6, result.p99Nanos / 1e6, result.rejected);
+    }
+
+    private record Result(double throughput, long p50Nanos, long p99Nanos, int rejected) {
+    }
+}
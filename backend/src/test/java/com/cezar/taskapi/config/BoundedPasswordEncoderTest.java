@@ -0,0 +1,98 @@
+package com.cezar.taskapi.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("BoundedPasswordEncoder")
+class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    // Fica preso em matches ate o teste liberar
+    private final PasswordEncoder blocking = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return encodedPassword.equals("hash:" + rawPassword);
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Deve executar o hash no pool e devolver o resultado")
+    void shouldDelegate() {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blocking, 1, 1, Duration.ofSeconds(5));
+        release.countDown();
+
+        assertThat(encoder.encode("senha")).isEqualTo("hash:senha");
+        assertThat(encoder.matches("senha", "hash:senha")).isTrue();
+        encoder.destroy();
+    }
+
+    @Test
+    @DisplayName("Deve responder 429 com a fila cheia")
+    void shouldRejectWhenQueueIsFull() throws Exception {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blocking, 1, 1, Duration.ofSeconds(5));
+        callers.submit(() -> encoder.matches("a", "hash:a"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        callers.submit(() -> encoder.matches("b", "hash:b"));
+        awaitQueued(encoder);
+
+        assertThatThrownBy(() -> encoder.matches("c", "hash:c"))
+                .isInstanceOfSatisfying(ServiceOverloadedException.class, e -> {
+                    assertThat(e.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+                    assertThat(e.getHeaders().getFirst("Retry-After")).isEqualTo("1");
+                });
+        encoder.destroy();
+    }
+
+    @Test
+    @DisplayName("Deve responder 503 quando o hash nao sai no tempo limite")
+    void shouldTimeOut() throws Exception {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blocking, 1, 1, Duration.ofMillis(100));
+        callers.submit(() -> encoder.matches("a", "hash:a"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> encoder.matches("b", "hash:b"))
+                .isInstanceOfSatisfying(ServiceOverloadedException.class, e ->
+                        assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+        encoder.destroy();
+    }
+
+    private void awaitQueued(BoundedPasswordEncoder encoder) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (encoder.queued() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(encoder.queued()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,67 @@
+package com.cezar.taskapi.config;
+
+import com.cezar.taskapi.dto.TaskRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.concurrent.TimeUnit;
+
+// Montagem e serializacao das respostas de erro (400 de regra de negocio e de validacao).
+// Executar com: ./mvnw -Pjmh test-compile exec:exec -Djmh.args=GlobalExceptionHandlerBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GlobalExceptionHandlerBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private ObjectMapper objectMapper;
+    private MockHttpServletRequest request;
+    private RuntimeException notFound;
+    private MethodArgumentNotValidException invalid;
+
+    @Setup
+    public void setUp() throws Exception {
+        handler = new GlobalExceptionHandler();
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        request = new MockHttpServletRequest("GET", "/api/tasks/42");
+        notFound = new RuntimeException("Tarefa não encontrada");
+
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(new TaskRequest(), "taskRequest");
+        bindingResult.rejectValue("title", "NotBlank", "Titulo e obrigatorio");
+        MethodParameter parameter = new MethodParameter(
+                GlobalExceptionHandlerBenchmark.class.getDeclaredMethod("create", TaskRequest.class), 0);
+        invalid = new MethodArgumentNotValidException(parameter, bindingResult);
+    }
+
+    @Benchmark
+    public byte[] renderRuntimeException() throws Exception {
+        return objectMapper.writeValueAsBytes(handler.handleRuntimeException(notFound, request).getBody());
+    }
+
+    @Benchmark
+    public byte[] renderValidationException() throws Exception {
+        return objectMapper.writeValueAsBytes(handler.handleValidationException(invalid, request).getBody());
+    }
+
+    // Assinatura usada apenas para montar o MethodParameter da excecao de validacao
+    @SuppressWarnings("unused")
+    private void create(TaskRequest request) {
+    }
+}
@@ -0,0 +1,104 @@
+package com.cezar.taskapi.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RateLimiter")
+class RateLimiterTest {
+
+    // Periodo longo: a reposicao durante o teste e desprezivel
+    private final RateLimiter.Policy policy = new RateLimiter.Policy("teste", 5, Duration.ofHours(1));
+    private final RateLimiter rateLimiter = new RateLimiter();
+
+    @Test
+    @DisplayName("Deve liberar a capacidade em rajada e recusar a seguinte")
+    void shouldAllowBurstUpToCapacity() {
+        for (int i = 4; i >= 0; i--) {
+            RateLimiter.Decision decision = rateLimiter.tryAcquire(policy, "user:1");
+            assertThat(decision.allowed()).isTrue();
+            assertThat(decision.remaining()).isEqualTo(i);
+        }
+
+        RateLimiter.Decision rejected = rateLimiter.tryAcquire(policy, "user:1");
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.remaining()).isZero();
+        assertThat(rejected.retryAfterSeconds()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Baldes de chaves diferentes sao independentes")
+    void shouldKeepSubjectsApart() {
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.tryAcquire(policy, "user:1");
+        }
+
+        assertThat(rateLimiter.tryAcquire(policy, "user:1").allowed()).isFalse();
+        assertThat(rateLimiter.tryAcquire(policy, "user:2").allowed()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve repor tokens com o tempo")
+    void shouldRefill() throws Exception {
+        // Um token a cada 500ms: folga para as tres primeiras chamadas (carga de classes, JIT)
+        // acontecerem antes de qualquer reposicao
+        RateLimiter.Policy fast = new RateLimiter.Policy("rapida", 2, Duration.ofSeconds(1));
+        rateLimiter.tryAcquire(fast, "ip:1");
+        rateLimiter.tryAcquire(fast, "ip:1");
+        assertThat(rateLimiter.tryAcquire(fast, "ip:1").allowed()).isFalse();
+
+        Thread.sleep(600);
+
+        assertThat(rateLimiter.tryAcquire(fast, "ip:1").allowed()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Sob concorrencia nunca libera mais que a capacidade")
+    void shouldNotOvershootUnderContention() throws Exception {
+        RateLimiter.Policy policy = new RateLimiter.Policy("concorrencia", 1000, Duration.ofHours(1));
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    int allowed = 0;
+                    for (int i = 0; i < 500; i++) {
+                        if (rateLimiter.tryAcquire(policy, "user:1").allowed()) {
+                            allowed++;
+                        }
+                    }
+                    return allowed;
+                }));
+            }
+            start.countDown();
+            int total = 0;
+            for (Future<Integer> future : futures) {
+                total += future.get();
+            }
+            assertThat(total).isEqualTo(1000);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve remover baldes ociosos ja cheios")
+    void shouldEvictIdleBuckets() throws Exception {
+        RateLimiter.Policy fast = new RateLimiter.Policy("rapida", 2, Duration.ofMillis(50));
+        rateLimiter.tryAcquire(fast, "ip:1");
+        rateLimiter.tryAcquire(policy, "user:1");
+
+        Thread.sleep(100);
+        rateLimiter.evictIdle();
+
+        assertThat(rateLimiter.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,90 @@
+package com.cezar.taskapi.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.cezar.taskapi.dto.AuthResponse;
+import com.cezar.taskapi.dto.RegisterRequest;
+import com.cezar.taskapi.dto.TaskRequest;
+import com.cezar.taskapi.model.TaskPriority;
+import com.cezar.taskapi.model.TaskStatus;
+import com.cezar.taskapi.service.AuthService;
+import com.cezar.taskapi.service.TaskService;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+@DisplayName("TaskController Tests")
+class TaskControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private TaskService taskService;
+
+    private String token;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        RegisterRequest register = new RegisterRequest();
+        register.setName("Listagem");
+        register.setEmail("listagem-" + UUID.randomUUID() + "@email.com");
+        register.setPassword("senha123");
+        AuthResponse auth = authService.register(register);
+        token = auth.getToken();
+        userId = auth.getUser().getId();
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks - Deve responder 304 para If-Modified-Since igual ao Last-Modified")
+    void shouldReturnNotModifiedForIfModifiedSince() throws Exception {
+        create("Primeira");
+
+        String lastModified = mockMvc.perform(get("/api/tasks")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+        assertNotNull(lastModified);
+
+        mockMvc.perform(get("/api/tasks")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks - Lista vazia nao deve enviar Last-Modified")
+    void shouldOmitLastModifiedForEmptyListing() throws Exception {
+        mockMvc.perform(get("/api/tasks")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED));
+    }
+
+    private void create(String title) {
+        TaskRequest request = new TaskRequest();
+        request.setTitle(title);
+        request.setStatus(TaskStatus.PENDING);
+        request.setPriority(TaskPriority.MEDIUM);
+        taskService.create(userId, request);
+    }
+}
@@ -0,0 +1,44 @@
+package com.cezar.taskapi.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Um histograma HDR por operacao (latencias de 1 us a 60 s com 3 digitos significativos)
+class LatencyRecorder {
+
+    private static final long MAX_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, Long> errors = new ConcurrentHashMap<>();
+
+    void record(String operation, long nanos, boolean ok) {
+        histograms.computeIfAbsent(operation, k -> new ConcurrentHistogram(1_000, MAX_NANOS, 3))
+                .recordValue(Math.min(nanos, MAX_NANOS));
+        if (!ok) {
+            errors.merge(operation, 1L, Long::sum);
+        }
+    }
+
+    void print(String title, double seconds) {
+        System.out.printf("%n=== %s (%.0f s) ===%n", title, seconds);
+        System.out.printf("%-28s %10s %10s %10s %10s %10s %8s%n",
+                "", "total", "req/s", "p50", "p99", "p999", "erros");
+        histograms.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> {
+                    Histogram histogram = entry.getValue();
+                    System.out.printf("%-28s %10d %10.0f %7.2f ms %7.2f ms %7.2f ms %8d%n",
+                            entry.getKey(),
+                            histogram.getTotalCount(),
+                            histogram.getTotalCount() / seconds,
+                            histogram.getValueAtPercentile(50) / 1e6,
+                            histogram.getValueAtPercentile(99) / 1e6,
+                            histogram.getValueAtPercentile(99.9) / 1e6,
+                            errors.getOrDefault(entry.getKey(), 0L));
+                });
+    }
+}
@@ -0,0 +1,81 @@
+package com.cezar.taskapi.loadtest;
+
+import com.cezar.taskapi.dto.TaskRequest;
+import com.cezar.taskapi.model.TaskPriority;
+import com.cezar.taskapi.model.TaskStatus;
+import com.cezar.taskapi.service.TaskImportWriter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Gera usuarios e tarefas direto no banco. A quantidade de tarefas por usuario segue uma lei de
+// potencia (poucos usuarios com muitas tarefas, a maioria com poucas), como em uso real.
+// As tarefas sao gravadas pelo TaskImportWriter, o mesmo caminho da importacao em massa.
+class LoadDatasetGenerator {
+
+    static final String PASSWORD = "senha123";
+
+    private static final int BATCH_SIZE = 1000;
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskImportWriter taskWriter;
+    private final String passwordHash;
+    private final Random random;
+
+    LoadDatasetGenerator(JdbcTemplate jdbcTemplate, TaskImportWriter taskWriter,
+                         PasswordEncoder passwordEncoder, long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.taskWriter = taskWriter;
+        // Um unico hash para todos: o BCrypt de milhares de usuarios dominaria o tempo de geracao
+        this.passwordHash = passwordEncoder.encode(PASSWORD);
+        this.random = new Random(seed);
+    }
+
+    // O usuario de posicao k recebe maxTasks / k^skew tarefas (no minimo 1)
+    List<LoadUser> generate(String prefix, int users, int maxTasks, double skew) {
+        List<LoadUser> created = new ArrayList<>(users);
+        for (int rank = 1; rank <= users; rank++) {
+            int tasks = Math.max(1, (int) Math.round(maxTasks / Math.pow(rank, skew)));
+            created.add(createUser(prefix + "-" + rank, tasks));
+        }
+        return created;
+    }
+
+    LoadUser createUser(String name, int tasks) {
+        String email = name + "@loadtest.com";
+        jdbcTemplate.update("insert into users (name, email, password, created_at) values (?, ?, ?, ?)",
+                name, email, passwordHash, LocalDateTime.now());
+        Long id = jdbcTemplate.queryForObject("select id from users where email = ?", Long.class, email);
+
+        for (int offset = 0; offset < tasks; offset += BATCH_SIZE) {
+            int size = Math.min(BATCH_SIZE, tasks - offset);
+            List<TaskRequest> batch = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                batch.add(randomTask(offset + i));
+            }
+            taskWriter.write(id, batch);
+        }
+        return new LoadUser(id, email, tasks);
+    }
+
+    private TaskRequest randomTask(int i) {
+        TaskRequest task = new TaskRequest();
+        task.setTitle("Tarefa gerada " + i);
+        task.setDescription("Descricao gerada para o teste de carga " + i);
+        task.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+        task.setPriority(PRIORITIES[random.nextInt(PRIORITIES.length)]);
+        if (random.nextInt(3) > 0) {
+            task.setDueDate(LocalDateTime.now().plusHours(random.nextInt(24 * 30)));
+        }
+        return task;
+    }
+
+    record LoadUser(Long id, String email, int tasks) {
+    }
+}
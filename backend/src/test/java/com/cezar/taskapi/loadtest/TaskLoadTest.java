@@ -0,0 +1,223 @@
+package com.cezar.taskapi.loadtest;
+
+import com.cezar.taskapi.dto.LoginRequest;
+import com.cezar.taskapi.dto.TaskRequest;
+import com.cezar.taskapi.loadtest.LoadDatasetGenerator.LoadUser;
+import com.cezar.taskapi.model.TaskPriority;
+import com.cezar.taskapi.model.TaskStatus;
+import com.cezar.taskapi.service.TaskImportWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Teste de carga de ponta a ponta pelos endpoints HTTP reais, em H2 no modo PostgreSQL.
+// 1. Gera N usuarios com quantidade enviesada de tarefas (LoadDatasetGenerator)
+// 2. Carga mista: login, listagem com filtro de status, criacao, atualizacao e remocao
+// 3. Latencia de GET /api/tasks para usuarios com 10, 100, 1.000... tarefas
+// Executar com: ./mvnw test -Pbenchmark -Dtest=TaskLoadTest
+// Ajustes: -Dloadtest.users=200 -Dloadtest.max-tasks=5000 -Dloadtest.clients=64
+//          -Dloadtest.duration=60 -Dloadtest.scaling=10,100,1000,10000
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"dev", "loadtest"})
+@DisplayName("Teste de carga - carga mista e escala da listagem")
+class TaskLoadTest {
+
+    private static final int USERS = Integer.getInteger("loadtest.users", 200);
+    private static final int MAX_TASKS = Integer.getInteger("loadtest.max-tasks", 5_000);
+    private static final double SKEW = 1.1;
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 64);
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("loadtest.duration", 60));
+    private static final Duration WARMUP = Duration.ofSeconds(10);
+    private static final int[] SCALING_TASKS = Arrays.stream(
+            System.getProperty("loadtest.scaling", "10,100,1000,10000").split(","))
+            .mapToInt(value -> Integer.parseInt(value.trim()))
+            .toArray();
+    private static final int SCALING_CLIENTS = 16;
+    private static final int SCALING_REQUESTS_PER_CLIENT = 200;
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskImportWriter taskImportWriter;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    @Test
+    @DisplayName("Carga mista e latencia da listagem por volume de tarefas")
+    void run() throws Exception {
+        LoadDatasetGenerator generator = new LoadDatasetGenerator(
+                jdbcTemplate, taskImportWriter, passwordEncoder, 42);
+
+        long start = System.nanoTime();
+        List<LoadUser> users = generator.generate("load", USERS, MAX_TASKS, SKEW);
+        System.out.printf("%nDataset: %d usuarios, %d tarefas em %.1f s%n", users.size(),
+                users.stream().mapToLong(LoadUser::tasks).sum(), (System.nanoTime() - start) / 1e9);
+
+        runMixed(users, WARMUP, new LatencyRecorder());
+        LatencyRecorder mixed = new LatencyRecorder();
+        double seconds = runMixed(users, DURATION, mixed);
+        mixed.print("Carga mista, " + CLIENTS + " clientes", seconds);
+
+        LatencyRecorder scaling = new LatencyRecorder();
+        start = System.nanoTime();
+        for (int tasks : SCALING_TASKS) {
+            LoadUser user = generator.createUser("scaling-" + tasks, tasks);
+            runListing(login(user, new LatencyRecorder()), String.format("GET /api/tasks n=%06d", tasks), scaling);
+        }
+        scaling.print("GET /api/tasks por tarefas do usuario, " + SCALING_CLIENTS + " clientes",
+                (System.nanoTime() - start) / 1e9);
+    }
+
+    private double runMixed(List<LoadUser> users, Duration duration, LatencyRecorder recorder) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                futures.add(clients.submit(() -> {
+                    mixedClient(users, deadline, recorder);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        return (System.nanoTime() - start) / 1e9;
+    }
+
+    // Proporcoes: 5% login, 50% listagem, 20% criacao, 15% atualizacao, 10% remocao.
+    // Atualizacoes e remocoes usam tarefas criadas pelo proprio cliente.
+    private void mixedClient(List<LoadUser> users, long deadline, LatencyRecorder recorder) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String token = login(users.get(random.nextInt(users.size())), recorder);
+        Deque<Long> created = new ArrayDeque<>();
+
+        while (System.nanoTime() < deadline) {
+            int dice = random.nextInt(100);
+            if (dice < 5) {
+                token = login(users.get(random.nextInt(users.size())), recorder);
+                created.clear();
+            } else if (dice < 55) {
+                TaskStatus status = STATUSES[random.nextInt(STATUSES.length)];
+                send("GET /api/tasks?status", recorder, authorized(token,
+                        "/api/tasks?status=" + status + "&page=0&size=20").GET().build());
+            } else if (dice < 75 || created.isEmpty()) {
+                String body = send("POST /api/tasks", recorder, authorized(token, "/api/tasks")
+                        .POST(json(taskRequest(random.nextInt()))).build());
+                if (body != null) {
+                    created.addLast(objectMapper.readTree(body).get("id").asLong());
+                }
+            } else if (dice < 90) {
+                TaskRequest request = taskRequest(random.nextInt());
+                request.setStatus(TaskStatus.IN_PROGRESS);
+                send("PUT /api/tasks/{id}", recorder, authorized(token, "/api/tasks/" + created.peekLast())
+                        .PUT(json(request)).build());
+            } else {
+                send("DELETE /api/tasks/{id}", recorder, authorized(token, "/api/tasks/" + created.pollFirst())
+                        .DELETE().build());
+            }
+        }
+    }
+
+    private void runListing(String token, String operation, LatencyRecorder recorder) throws Exception {
+        HttpRequest request = authorized(token, "/api/tasks?page=0&size=20").GET().build();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < SCALING_CLIENTS; c++) {
+                futures.add(clients.submit(() -> {
+                    for (int i = 0; i < SCALING_REQUESTS_PER_CLIENT; i++) {
+                        send(operation, recorder, request);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+    }
+
+    private String login(LoadUser user, LatencyRecorder recorder) throws Exception {
+        LoginRequest login = new LoginRequest();
+        login.setEmail(user.email());
+        login.setPassword(LoadDatasetGenerator.PASSWORD);
+        String body = send("POST /api/auth/login", recorder, HttpRequest.newBuilder(uri("/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(json(login))
+                .build());
+        if (body == null) {
+            throw new IllegalStateException("Login falhou para " + user.email());
+        }
+        return objectMapper.readTree(body).get("token").asText();
+    }
+
+    // Devolve o corpo em respostas 2xx e null nas demais (contadas como erro)
+    private String send(String operation, LatencyRecorder recorder, HttpRequest request) throws Exception {
+        long start = System.nanoTime();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        boolean ok = response.statusCode() / 100 == 2;
+        recorder.record(operation, System.nanoTime() - start, ok);
+        return ok ? response.body() : null;
+    }
+
+    private HttpRequest.Builder authorized(String token, String path) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json");
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) throws Exception {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private TaskRequest taskRequest(int i) {
+        TaskRequest request = new TaskRequest();
+        request.setTitle("Tarefa de carga " + i);
+        request.setDescription("Descricao da tarefa de carga " + i);
+        request.setPriority(TaskPriority.MEDIUM);
+        return request;
+    }
+}
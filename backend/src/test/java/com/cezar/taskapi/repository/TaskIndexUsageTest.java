@@ -0,0 +1,94 @@
+package com.cezar.taskapi.repository;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// ANALYZE confirma a transacao no H2, entao os dados sao semeados uma unica vez fora das transacoes
+// dos testes e removidos ao final
+@DataJpaTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Indices da tabela tasks")
+class TaskIndexUsageTest {
+
+    private static final String[] STATUSES = {"PENDING", "IN_PROGRESS", "COMPLETED", "CANCELLED"};
+    private static final String EMAIL = "indices@email.com";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update(
+                "INSERT INTO users (name, email, password, created_at) VALUES ('Teste', ?, 'x', ?)",
+                EMAIL, Timestamp.valueOf(LocalDateTime.now()));
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, EMAIL);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            Timestamp createdAt = Timestamp.valueOf(now.minusMinutes(i));
+            rows.add(new Object[]{
+                    "Tarefa " + i,
+                    STATUSES[i % STATUSES.length],
+                    Timestamp.valueOf(now.plusDays(i % 30)),
+                    createdAt,
+                    createdAt,
+                    userId
+            });
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO tasks (title, status, priority, due_date, created_at, updated_at, user_id) "
+                        + "VALUES (?, ?, 'MEDIUM', ?, ?, ?, ?)",
+                rows);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM tasks WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+    }
+
+    @Test
+    @DisplayName("Listagem por usuario deve usar (user_id, created_at, id)")
+    void shouldUseCreatedIndex() {
+        String plan = explain("SELECT id FROM tasks WHERE user_id = " + userId + " ORDER BY created_at DESC, id DESC");
+
+        assertThat(plan).containsIgnoringCase("idx_tasks_user_created");
+    }
+
+    @Test
+    @DisplayName("Filtro por usuario e status deve usar (user_id, status, created_at)")
+    void shouldUseStatusIndex() {
+        String plan = explain("SELECT id FROM tasks WHERE user_id = " + userId + " AND status = 'PENDING' ORDER BY created_at DESC");
+
+        assertThat(plan).containsIgnoringCase("idx_tasks_user_status_created");
+    }
+
+    @Test
+    @DisplayName("Filtro por usuario e vencimento deve usar (user_id, due_date)")
+    void shouldUseDueDateIndex() {
+        String plan = explain("SELECT id FROM tasks WHERE user_id = " + userId + " AND due_date < TIMESTAMP '2000-01-01 00:00:00'");
+
+        assertThat(plan).containsIgnoringCase("idx_tasks_user_due_date");
+    }
+
+    private String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+    }
+}
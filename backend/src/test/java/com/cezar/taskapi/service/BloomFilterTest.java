@@ -0,0 +1,85 @@
+package com.cezar.taskapi.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BloomFilter Tests")
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("Deve encontrar todo item inserido")
+    void shouldHaveNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        List<String> items = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            String jti = UUID.randomUUID().toString();
+            items.add(jti);
+            filter.put(jti);
+        }
+
+        items.forEach(jti -> assertTrue(filter.mightContain(jti), jti));
+    }
+
+    @Test
+    @DisplayName("Deve manter a taxa de falsos positivos proxima da configurada")
+    void shouldKeepFalsePositiveRateNearTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(UUID.randomUUID().toString());
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < probes * 0.02, "falsos positivos: " + falsePositives);
+        assertEquals(7, filter.hashCount());
+        assertEquals(0.5, filter.fillRatio(), 0.05);
+    }
+
+    @Test
+    @DisplayName("Deve aceitar insercoes concorrentes sem perder bits")
+    void shouldAcceptConcurrentPuts() throws Exception {
+        BloomFilter filter = new BloomFilter(40_000, 0.01);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<List<String>>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < 4; t++) {
+                results.add(executor.submit(() -> {
+                    List<String> inserted = new ArrayList<>();
+                    for (int i = 0; i < 10_000; i++) {
+                        String jti = UUID.randomUUID().toString();
+                        filter.put(jti);
+                        inserted.add(jti);
+                    }
+                    return inserted;
+                }));
+            }
+            for (Future<List<String>> result : results) {
+                result.get().forEach(jti -> assertTrue(filter.mightContain(jti), jti));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve recusar parametros invalidos")
+    void shouldRejectInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1.0));
+    }
+}
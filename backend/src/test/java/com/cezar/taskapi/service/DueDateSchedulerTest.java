@@ -0,0 +1,89 @@
+package com.cezar.taskapi.service;
+
+import com.cezar.taskapi.dto.TaskDeadline;
+import com.cezar.taskapi.event.TaskChangeEvent;
+import com.cezar.taskapi.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DueDateScheduler Tests")
+class DueDateSchedulerTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DueDateScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new DueDateScheduler(taskRepository, eventPublisher, transactionManager,
+                Duration.ofHours(1), Duration.ofDays(7), Runnable::run);
+    }
+
+    @Test
+    @DisplayName("Carga do banco nao deve reagendar tarefa removida enquanto era lida")
+    void shouldNotRescheduleTaskDeletedDuringLoad() {
+        LocalDateTime dueDate = LocalDateTime.now().plusHours(2);
+        when(taskRepository.findDeadlinesByUserId(eq(1L), any(), any(), any())).thenAnswer(invocation -> {
+            // Snapshot lido antes do DELETE da tarefa 5, cujo evento chega antes do fim da carga
+            scheduler.onTaskChange(new TaskChangeEvent(TaskChangeEvent.Type.DELETED, 1L, 5L, null));
+            return List.of(new TaskDeadline(5L, 1L, dueDate), new TaskDeadline(6L, 1L, dueDate));
+        });
+
+        scheduler.onTaskChange(new TaskChangeEvent(TaskChangeEvent.Type.TRANSITIONED, 1L, null, null));
+
+        // Lembrete e vencimento apenas da tarefa 6
+        assertEquals(2, scheduler.scheduledCount());
+    }
+
+    @Test
+    @DisplayName("Lote importado deve agendar so os vencimentos que traz, sem reler a janela")
+    void shouldScheduleImportedBatchWithoutReload() {
+        LocalDateTime now = LocalDateTime.now();
+        List<TaskDeadline> deadlines = List.of(
+                new TaskDeadline(5L, 1L, now.plusHours(2)),
+                new TaskDeadline(6L, 1L, now.minusHours(1)), // ja vencida
+                new TaskDeadline(7L, 1L, now.plusDays(30))); // fora do horizonte
+
+        scheduler.onTaskChange(new TaskChangeEvent(TaskChangeEvent.Type.IMPORTED, 1L, null, null, null, deadlines));
+
+        assertEquals(2, scheduler.scheduledCount());
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    @DisplayName("Alteracao anterior a carga nao deve impedir o agendamento")
+    void shouldScheduleTaskChangedBeforeLoad() {
+        LocalDateTime dueDate = LocalDateTime.now().plusHours(2);
+        when(taskRepository.findDeadlinesByUserId(eq(1L), any(), any(), any()))
+                .thenReturn(List.of(new TaskDeadline(5L, 1L, dueDate)));
+
+        scheduler.onTaskChange(new TaskChangeEvent(TaskChangeEvent.Type.DELETED, 1L, 5L, null));
+        scheduler.onTaskChange(new TaskChangeEvent(TaskChangeEvent.Type.TRANSITIONED, 1L, null, null));
+
+        assertEquals(2, scheduler.scheduledCount());
+        verifyNoInteractions(eventPublisher);
+    }
+}
@@ -1,10 +1,14 @@
 package com.cezar.taskapi.service;
 
+import com.cezar.taskapi.model.User;
+import io.jsonwebtoken.Claims;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @DisplayName("JwtService Tests")
@@ -76,4 +80,30 @@ class JwtServiceTest {
         assertNotNull(expiration);
         assertTrue(expiration.getTime() > System.currentTimeMillis());
     }
+
+    @Test
+    @DisplayName("Deve reutilizar claims verificados do cache")
+    void shouldServeRepeatedTokenFromCache() {
+        String token = jwtService.generateToken("teste@email.com");
+
+        jwtService.extractEmail(token);
+        jwtService.validateToken(token, "teste@email.com");
+
+        assertEquals(1, jwtService.getCacheStats().missCount());
+        assertEquals(1, jwtService.getCacheStats().hitCount());
+    }
+
+    @Test
+    @DisplayName("Deve incluir id e perfis do usuario no token")
+    void shouldIncludeUserIdAndRolesInToken() {
+        User user = new User();
+        user.setId(42L);
+        user.setEmail("teste@email.com");
+
+        Claims claims = jwtService.parseToken(jwtService.generateToken(user));
+
+        assertEquals("teste@email.com", claims.getSubject());
+        assertEquals(42L, ((Number) claims.get(JwtService.CLAIM_USER_ID)).longValue());
+        assertEquals(List.of("ROLE_USER"), claims.get(JwtService.CLAIM_ROLES));
+    }
 }
\ No newline at end of file
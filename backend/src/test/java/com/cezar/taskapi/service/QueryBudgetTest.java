@@ -0,0 +1,213 @@
+package com.cezar.taskapi.service;
+
+import com.cezar.taskapi.config.QueryBudget;
+import com.cezar.taskapi.config.QueryCounter;
+import com.cezar.taskapi.dto.AuthResponse;
+import com.cezar.taskapi.dto.LoginRequest;
+import com.cezar.taskapi.dto.RegisterRequest;
+import com.cezar.taskapi.dto.TaskBatchOperation;
+import com.cezar.taskapi.dto.TaskBatchRequest;
+import com.cezar.taskapi.dto.TaskPatchRequest;
+import com.cezar.taskapi.dto.TaskRequest;
+import com.cezar.taskapi.dto.TaskResponse;
+import com.cezar.taskapi.dto.TaskTransitionRequest;
+import com.cezar.taskapi.model.TaskPriority;
+import com.cezar.taskapi.model.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Com tasks.query-budget.mode=FAIL, qualquer operacao acima do seu @QueryBudget lanca
+// QueryBudgetExceededException: uma consulta extra ou um N+1 quebra este teste.
+@SpringBootTest(properties = {
+        "tasks.query-budget.mode=FAIL",
+        "spring.jpa.show-sql=false"
+})
+@DisplayName("Orcamento de comandos SQL por operacao")
+class QueryBudgetTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private QueryCounter queryCounter;
+
+    private Long userId;
+    private String email;
+
+    @BeforeEach
+    void setUp() {
+        email = "budget-" + UUID.randomUUID() + "@email.com";
+        RegisterRequest register = new RegisterRequest();
+        register.setName("Orcamento");
+        register.setEmail(email);
+        register.setPassword("senha123");
+        AuthResponse auth = authService.register(register);
+        userId = auth.getUser().getId();
+    }
+
+    @Test
+    @DisplayName("Toda operacao publica de TaskService e AuthService declara um orcamento")
+    void everyOperationHasBudget() {
+        List<String> missing = new ArrayList<>();
+        for (Class<?> service : List.of(TaskService.class, AuthService.class)) {
+            Arrays.stream(service.getDeclaredMethods())
+                    .filter(method -> Modifier.isPublic(method.getModifiers()))
+                    .filter(method -> !method.isAnnotationPresent(QueryBudget.class))
+                    .map(Method::getName)
+                    .forEach(name -> missing.add(service.getSimpleName() + "." + name));
+        }
+
+        assertThat(missing).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Login reaproveita o usuario carregado na autenticacao")
+    void loginWithinBudget() {
+        LoginRequest login = new LoginRequest();
+        login.setEmail(email);
+        login.setPassword("senha123");
+
+        try (QueryCounter.Scope scope = queryCounter.open()) {
+            authService.login(login);
+            assertThat(scope.count()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("CRUD e listagens dentro do orcamento")
+    void crudWithinBudget() {
+        TaskResponse created = taskService.create(userId, taskRequest("Tarefa orcamento"));
+
+        taskService.findAllByUser(userId, PageRequest.of(0, 10));
+        taskService.findByUserAndStatus(userId, TaskStatus.PENDING, PageRequest.of(0, 10));
+        taskService.listingVersion(userId, null, PageRequest.of(0, 10));
+        taskService.scrollByUser(userId, null, null, 10, "createdAt", Sort.Direction.DESC);
+        taskService.findById(created.getId(), userId);
+        taskService.update(created.getId(), userId, taskRequest("Tarefa orcamento alterada"), null);
+
+        try (QueryCounter.Scope scope = queryCounter.open()) {
+            taskService.findById(created.getId(), userId);
+            assertThat(scope.count()).isEqualTo(1);
+        }
+
+        taskService.delete(created.getId(), userId);
+    }
+
+    @Test
+    @DisplayName("PATCH altera so os campos enviados, sem UPDATE quando nada muda, e recusa versao antiga")
+    void patchWritesOnlyChanges() {
+        TaskResponse created = taskService.create(userId, taskRequest("Tarefa parcial"));
+
+        TaskPatchRequest patch = new TaskPatchRequest();
+        patch.setStatus(TaskStatus.IN_PROGRESS);
+        TaskResponse patched = taskService.patch(created.getId(), userId, patch, created.getVersion());
+        assertThat(patched.getStatus()).isEqualTo(TaskStatus.IN_PROGRESS);
+        assertThat(patched.getDescription()).isEqualTo("Descricao");
+        assertThat(patched.getVersion()).isEqualTo(created.getVersion() + 1);
+
+        // Mesmo valor: so o SELECT, sem UPDATE nem nova versao
+        try (QueryCounter.Scope scope = queryCounter.open()) {
+            TaskResponse unchanged = taskService.patch(created.getId(), userId, patch, null);
+            assertThat(scope.count()).isEqualTo(1);
+            assertThat(unchanged.getVersion()).isEqualTo(patched.getVersion());
+        }
+
+        TaskPatchRequest stale = new TaskPatchRequest();
+        stale.setTitle("Edicao concorrente");
+        assertThatThrownBy(() -> taskService.patch(created.getId(), userId, stale, created.getVersion()))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+    }
+
+    @Test
+    @DisplayName("Transicao em massa executa um unico UPDATE e ignora tarefas ja no destino")
+    void transitionIsSingleUpdate() {
+        List<TaskResponse> created = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            created.add(taskService.create(userId, taskRequest("Tarefa em massa " + i)));
+        }
+        TaskPatchRequest start = new TaskPatchRequest();
+        start.setStatus(TaskStatus.IN_PROGRESS);
+        for (int i = 0; i < 5; i++) {
+            taskService.patch(created.get(i).getId(), userId, start, null);
+        }
+
+        TaskTransitionRequest request = new TaskTransitionRequest();
+        request.setStatuses(Set.of(TaskStatus.PENDING));
+        request.setStatus(TaskStatus.CANCELLED);
+        request.setPriority(TaskPriority.LOW);
+        // So o UPDATE: a recarga dos vencimentos apos o commit roda fora desta thread
+        try (QueryCounter.Scope scope = queryCounter.open()) {
+            assertThat(taskService.transition(userId, request).getUpdated()).isEqualTo(15);
+            assertThat(scope.count()).isEqualTo(1);
+        }
+        assertThat(taskService.transition(userId, request).getUpdated()).isZero();
+
+        TaskResponse cancelled = taskService.findById(created.get(19).getId(), userId);
+        assertThat(cancelled.getStatus()).isEqualTo(TaskStatus.CANCELLED);
+        assertThat(cancelled.getPriority()).isEqualTo(TaskPriority.LOW);
+        assertThat(cancelled.getVersion()).isEqualTo(created.get(19).getVersion() + 1);
+        assertThat(taskService.findById(created.get(0).getId(), userId).getStatus())
+                .isEqualTo(TaskStatus.IN_PROGRESS);
+    }
+
+    @Test
+    @DisplayName("Lote de 500 operacoes nao faz uma consulta por item")
+    void batchWithinBudget() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            ids.add(taskService.create(userId, taskRequest("Tarefa existente " + i)).getId());
+        }
+
+        List<TaskBatchOperation> operations = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            TaskBatchOperation create = new TaskBatchOperation();
+            create.setOp(TaskBatchOperation.Type.CREATE);
+            create.setTask(taskRequest("Tarefa do lote " + i));
+            operations.add(create);
+        }
+        for (int i = 0; i < ids.size(); i++) {
+            TaskBatchOperation operation = new TaskBatchOperation();
+            operation.setId(ids.get(i));
+            if (i % 2 == 0) {
+                operation.setOp(TaskBatchOperation.Type.UPDATE);
+                operation.setTask(taskRequest("Tarefa atualizada " + i));
+            } else {
+                operation.setOp(TaskBatchOperation.Type.DELETE);
+            }
+            operations.add(operation);
+        }
+        TaskBatchRequest request = new TaskBatchRequest();
+        request.setOperations(operations);
+
+        assertThat(taskService.executeBatch(userId, request).getFailed()).isZero();
+    }
+
+    private TaskRequest taskRequest(String title) {
+        TaskRequest request = new TaskRequest();
+        request.setTitle(title);
+        request.setDescription("Descricao");
+        return request;
+    }
+}
@@ -0,0 +1,43 @@
+package com.cezar.taskapi.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TaskCsvReader Tests")
+class TaskCsvReaderTest {
+
+    @Test
+    @DisplayName("Deve ler campos com aspas, virgulas e quebras de linha")
+    void shouldReadQuotedFieldsWithCommasAndLineBreaks() throws IOException {
+        TaskCsvReader reader = new TaskCsvReader(new StringReader(
+                "title,description\r\n"
+                        + "Simples,sem aspas\r\n"
+                        + "\"Com, virgula\",\"linha 1\nlinha 2 com \"\"aspas\"\"\"\n"
+                        + "Vazio,\n"));
+
+        assertEquals(List.of("title", "description"), reader.next());
+        assertEquals(List.of("Simples", "sem aspas"), reader.next());
+        assertEquals(2, reader.recordLine());
+
+        assertEquals(List.of("Com, virgula", "linha 1\nlinha 2 com \"aspas\""), reader.next());
+        assertEquals(3, reader.recordLine());
+
+        assertEquals(List.of("Vazio", ""), reader.next());
+        assertEquals(5, reader.recordLine());
+        assertNull(reader.next());
+    }
+
+    @Test
+    @DisplayName("Deve falhar com aspas nao fechadas")
+    void shouldFailOnUnclosedQuotes() throws IOException {
+        TaskCsvReader reader = new TaskCsvReader(new StringReader("\"aberto,sem fim\n"));
+
+        assertThrows(IOException.class, reader::next);
+    }
+}
@@ -0,0 +1,96 @@
+package com.cezar.taskapi.service;
+
+import com.cezar.taskapi.config.ServiceOverloadedException;
+import com.cezar.taskapi.event.TaskChangeEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TaskEventBroadcaster Tests")
+class TaskEventBroadcasterTest {
+
+    // Guarda as tarefas de envio sem executa-las: as filas so enchem
+    private final List<Runnable> pendingSends = new ArrayList<>();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Deve entregar o evento a todas as conexoes do usuario e encerrar as que enchem a fila")
+    void shouldFanOutAndEvictFullConnections() {
+        // Fila de 3: a mensagem de conexao e mais dois eventos
+        TaskEventBroadcaster broadcaster = broadcaster(3, 5, pendingSends::add);
+        broadcaster.subscribe(1L);
+        broadcaster.subscribe(1L);
+        broadcaster.subscribe(2L);
+
+        broadcaster.onTaskChange(created(1L, 10L));
+        broadcaster.onTaskChange(created(1L, 11L));
+        assertEquals(3, connections());
+        assertEquals(0, evicted());
+
+        broadcaster.onTaskChange(created(1L, 12L));
+
+        // As duas conexoes do usuario 1 receberam os tres eventos; a do usuario 2 nao foi afetada
+        assertEquals(1, connections());
+        assertEquals(2, evicted());
+        assertEquals(3, pendingSends.size());
+    }
+
+    @Test
+    @DisplayName("Conexao que esvazia a fila nao deve ser encerrada")
+    void shouldKeepConnectionThatDrains() {
+        TaskEventBroadcaster broadcaster = broadcaster(2, 5, Runnable::run);
+        broadcaster.subscribe(1L);
+
+        for (long taskId = 1; taskId <= 20; taskId++) {
+            broadcaster.onTaskChange(created(1L, taskId));
+        }
+
+        assertEquals(1, connections());
+        assertEquals(0, evicted());
+    }
+
+    @Test
+    @DisplayName("Deve recusar com 429 e Retry-After acima do limite de conexoes por usuario")
+    void shouldRejectConnectionsOverLimit() {
+        TaskEventBroadcaster broadcaster = broadcaster(3, 2, pendingSends::add);
+        broadcaster.subscribe(1L);
+        broadcaster.subscribe(1L);
+
+        ServiceOverloadedException exception = assertThrows(ServiceOverloadedException.class,
+                () -> broadcaster.subscribe(1L));
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, exception.getStatusCode());
+        assertNotNull(exception.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertDoesNotThrow(() -> broadcaster.subscribe(2L));
+        assertEquals(3, connections());
+    }
+
+    private TaskEventBroadcaster broadcaster(int bufferSize, int maxConnectionsPerUser,
+                                             Executor senders) {
+        TaskEventBroadcaster broadcaster = new TaskEventBroadcaster(Duration.ofMinutes(1), bufferSize,
+                maxConnectionsPerUser, senders);
+        broadcaster.bindTo(registry);
+        return broadcaster;
+    }
+
+    private double connections() {
+        return registry.get("tasks.events.connections").gauge().value();
+    }
+
+    private double evicted() {
+        return registry.get("tasks.events.evicted").functionCounter().count();
+    }
+
+    private static TaskChangeEvent created(Long userId, Long taskId) {
+        return new TaskChangeEvent(TaskChangeEvent.Type.CREATED, userId, taskId, null);
+    }
+}
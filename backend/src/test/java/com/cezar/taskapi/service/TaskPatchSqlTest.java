@@ -0,0 +1,101 @@
+package com.cezar.taskapi.service;
+
+import com.cezar.taskapi.dto.AuthResponse;
+import com.cezar.taskapi.dto.RegisterRequest;
+import com.cezar.taskapi.dto.TaskPatchRequest;
+import com.cezar.taskapi.dto.TaskRequest;
+import com.cezar.taskapi.dto.TaskResponse;
+import com.cezar.taskapi.model.TaskPriority;
+import com.cezar.taskapi.model.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// O SQL impresso pelo Hibernate mostra quais colunas o UPDATE do PATCH regrava
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=true",
+        "spring.jpa.properties.hibernate.format_sql=false"
+})
+@ExtendWith(OutputCaptureExtension.class)
+@DisplayName("SQL do PATCH de tarefas")
+class TaskPatchSqlTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private AuthService authService;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        RegisterRequest register = new RegisterRequest();
+        register.setName("Patch");
+        register.setEmail("patch-" + UUID.randomUUID() + "@email.com");
+        register.setPassword("senha123");
+        AuthResponse auth = authService.register(register);
+        userId = auth.getUser().getId();
+    }
+
+    @Test
+    @DisplayName("UPDATE do PATCH deve gravar apenas as colunas alteradas")
+    void shouldUpdateOnlyPatchedColumns(CapturedOutput output) {
+        TaskResponse created = taskService.create(userId, taskRequest());
+
+        TaskPatchRequest patch = new TaskPatchRequest();
+        patch.setPriority(TaskPriority.LOW);
+        patch.setTitle("Tarefa SQL"); // mesmo titulo: nao entra no UPDATE
+        TaskResponse patched = taskService.patch(created.getId(), userId, patch, created.getVersion());
+
+        assertThat(patched.getPriority()).isEqualTo(TaskPriority.LOW);
+        assertThat(updatedColumns(output)).containsExactly(Set.of("priority", "updated_at", "version"));
+    }
+
+    @Test
+    @DisplayName("PATCH com null explicito deve limpar so a coluna enviada")
+    void shouldClearOnlyNullColumn(CapturedOutput output) {
+        TaskResponse created = taskService.create(userId, taskRequest());
+
+        TaskPatchRequest patch = new TaskPatchRequest();
+        patch.setDescription(null);
+        taskService.patch(created.getId(), userId, patch, null);
+
+        assertThat(taskService.findById(created.getId(), userId).getDescription()).isNull();
+        assertThat(updatedColumns(output)).containsExactly(Set.of("description", "updated_at", "version"));
+    }
+
+    // Colunas do SET de cada "update tasks" impresso
+    private static List<Set<String>> updatedColumns(CapturedOutput output) {
+        return output.getOut().lines()
+                .filter(line -> line.contains("update tasks"))
+                .map(line -> line.substring(line.indexOf(" set ") + 5, line.indexOf(" where ")))
+                .map(set -> Arrays.stream(set.split(","))
+                        .map(assignment -> assignment.substring(0, assignment.indexOf('=')).trim())
+                        .map(column -> column.substring(column.indexOf('.') + 1))
+                        .collect(Collectors.toSet()))
+                .toList();
+    }
+
+    private static TaskRequest taskRequest() {
+        TaskRequest request = new TaskRequest();
+        request.setTitle("Tarefa SQL");
+        request.setDescription("Descricao");
+        request.setStatus(TaskStatus.PENDING);
+        request.setPriority(TaskPriority.MEDIUM);
+        return request;
+    }
+}
@@ -0,0 +1,60 @@
+package com.cezar.taskapi.service;
+
+import com.cezar.taskapi.dto.TaskResponse;
+import com.cezar.taskapi.model.Task;
+import com.cezar.taskapi.model.TaskPriority;
+import com.cezar.taskapi.model.TaskStatus;
+import com.cezar.taskapi.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// Conversao entidade -> DTO usada na criacao, atualizacao e paginacao por cursor.
+// Executar com: ./mvnw -Pjmh test-compile exec:exec -Djmh.args=TaskServiceBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskServiceBenchmark {
+
+    private TaskService taskService;
+    private Task task;
+
+    @Setup
+    public void setUp() {
+        // mapToResponse nao usa as dependencias
+        taskService = new TaskService(null, null, null, null, null);
+
+        User user = new User();
+        user.setId(1L);
+
+        task = new Task();
+        task.setId(1L);
+        task.setTitle("Tarefa benchmark");
+        task.setDescription("Descricao da tarefa benchmark");
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        task.setPriority(TaskPriority.HIGH);
+        task.setDueDate(LocalDateTime.now().plusDays(1));
+        task.setCreatedAt(LocalDateTime.now());
+        task.setUpdatedAt(LocalDateTime.now());
+        task.setVersion(0L);
+        task.setUser(user);
+    }
+
+    @Benchmark
+    public TaskResponse mapToResponse() {
+        return taskService.mapToResponse(task);
+    }
+}
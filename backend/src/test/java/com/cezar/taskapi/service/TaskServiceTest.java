@@ -0,0 +1,346 @@
+package com.cezar.taskapi.service;
+
+import com.cezar.taskapi.dto.TaskPatchRequest;
+import com.cezar.taskapi.dto.TaskRequest;
+import com.cezar.taskapi.dto.TaskResponse;
+import com.cezar.taskapi.dto.TaskTransitionRequest;
+import com.cezar.taskapi.event.TaskChangeEvent;
+import com.cezar.taskapi.model.Task;
+import com.cezar.taskapi.model.TaskPriority;
+import com.cezar.taskapi.model.TaskStatus;
+import com.cezar.taskapi.model.User;
+import com.cezar.taskapi.repository.TaskRepository;
+import com.cezar.taskapi.repository.TaskTombstoneRepository;
+import com.cezar.taskapi.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TaskService Tests")
+class TaskServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private TaskListCache taskListCache = new TaskListCache(1_000_000, Duration.ofMinutes(1), 1_000);
+
+    @InjectMocks
+    private TaskService taskService;
+
+    private User user;
+    private Task task;
+    private TaskRequest taskRequest;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setId(1L);
+        user.setName("Teste");
+        user.setEmail("teste@email.com");
+        user.setPassword("senha123");
+
+        task = new Task();
+        task.setId(1L);
+        task.setTitle("Tarefa Teste");
+        task.setDescription("Descricao teste");
+        task.setStatus(TaskStatus.PENDING);
+        task.setPriority(TaskPriority.HIGH);
+        task.setUser(user);
+        task.setCreatedAt(LocalDateTime.now());
+        task.setUpdatedAt(LocalDateTime.now());
+
+        taskRequest = new TaskRequest();
+        taskRequest.setTitle("Tarefa Teste");
+        taskRequest.setDescription("Descricao teste");
+        taskRequest.setStatus(TaskStatus.PENDING);
+        taskRequest.setPriority(TaskPriority.HIGH);
+    }
+
+    @Test
+    @DisplayName("Deve criar tarefa com sucesso")
+    void shouldCreateTaskSuccessfully() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(taskRepository.save(any(Task.class))).thenReturn(task);
+
+        TaskResponse response = taskService.create(1L, taskRequest);
+
+        assertNotNull(response);
+        assertEquals("Tarefa Teste", response.getTitle());
+        assertEquals(TaskStatus.PENDING, response.getStatus());
+        assertEquals(TaskPriority.HIGH, response.getPriority());
+        verify(taskRepository, times(1)).save(any(Task.class));
+    }
+
+    @Test
+    @DisplayName("Deve lancar erro ao criar tarefa com usuario inexistente")
+    void shouldThrowErrorWhenUserNotFound() {
+        when(userRepository.findById(999L)).thenReturn(Optional.empty());
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            taskService.create(999L, taskRequest);
+        });
+
+        assertEquals("Usuario nao encontrado", exception.getMessage());
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    @DisplayName("Deve listar tarefas do usuario")
+    void shouldListUserTasks() {
+        Pageable pageable = PageRequest.of(0, 10);
+        TaskResponse projected = new TaskResponse(1L, "Tarefa Teste", "Descricao teste", TaskStatus.PENDING,
+                TaskPriority.HIGH, null, LocalDateTime.now(), LocalDateTime.now(), 1L, 0L);
+        Page<TaskResponse> taskPage = new PageImpl<>(List.of(projected));
+        when(taskRepository.findResponsesByUserId(1L, pageable)).thenReturn(taskPage);
+
+        Page<TaskResponse> response = taskService.findAllByUser(1L, pageable);
+
+        assertNotNull(response);
+        assertEquals(1, response.getTotalElements());
+        assertEquals("Tarefa Teste", response.getContent().get(0).getTitle());
+    }
+
+    @Test
+    @DisplayName("Deve buscar tarefa por ID")
+    void shouldFindTaskById() {
+        when(taskRepository.findResponseByIdAndUserId(1L, 1L)).thenReturn(Optional.of(new TaskResponse(
+                1L, "Tarefa Teste", "Descricao teste", TaskStatus.PENDING, TaskPriority.HIGH,
+                null, LocalDateTime.now(), LocalDateTime.now(), 1L, 0L)));
+
+        TaskResponse response = taskService.findById(1L, 1L);
+
+        assertNotNull(response);
+        assertEquals("Tarefa Teste", response.getTitle());
+        assertEquals(1L, response.getUserId());
+    }
+
+    @Test
+    @DisplayName("Deve lancar erro ao buscar tarefa de outro usuario")
+    void shouldThrowErrorWhenAccessingOtherUserTask() {
+        when(taskRepository.findResponseByIdAndUserId(1L, 999L)).thenReturn(Optional.empty());
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            taskService.findById(1L, 999L); // Usuario diferente
+        });
+
+        assertEquals("Tarefa não encontrada", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve atualizar tarefa com sucesso")
+    void shouldUpdateTaskSuccessfully() {
+        TaskRequest updateRequest = new TaskRequest();
+        updateRequest.setTitle("Tarefa Atualizada");
+        updateRequest.setDescription("Nova descricao");
+        updateRequest.setStatus(TaskStatus.COMPLETED);
+        updateRequest.setPriority(TaskPriority.LOW);
+
+        Task updatedTask = new Task();
+        updatedTask.setId(1L);
+        updatedTask.setTitle("Tarefa Atualizada");
+        updatedTask.setDescription("Nova descricao");
+        updatedTask.setStatus(TaskStatus.COMPLETED);
+        updatedTask.setPriority(TaskPriority.LOW);
+        updatedTask.setUser(user);
+        updatedTask.setCreatedAt(LocalDateTime.now());
+        updatedTask.setUpdatedAt(LocalDateTime.now());
+
+        when(taskRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(task));
+        when(taskRepository.saveAndFlush(any(Task.class))).thenReturn(updatedTask);
+
+        TaskResponse response = taskService.update(1L, 1L, updateRequest, null);
+
+        assertNotNull(response);
+        assertEquals("Tarefa Atualizada", response.getTitle());
+        assertEquals(TaskStatus.COMPLETED, response.getStatus());
+        verify(taskRepository, times(1)).saveAndFlush(any(Task.class));
+    }
+
+    @Test
+    @DisplayName("Deve alterar apenas os campos enviados no PATCH")
+    void shouldPatchOnlySuppliedFields() {
+        task.setVersion(3L);
+        TaskPatchRequest patchRequest = new TaskPatchRequest();
+        patchRequest.setPriority(TaskPriority.LOW);
+
+        when(taskRepository.findResponseByIdAndUserId(1L, 1L)).thenReturn(Optional.of(taskService.mapToResponse(task)));
+        when(taskRepository.patch(eq(1L), eq(1L), eq(3L), eq(Map.of("priority", TaskPriority.LOW)),
+                any(LocalDateTime.class))).thenReturn(1);
+
+        TaskResponse response = taskService.patch(1L, 1L, patchRequest, 3L);
+
+        assertEquals(TaskPriority.LOW, response.getPriority());
+        assertEquals("Tarefa Teste", response.getTitle());
+        assertEquals("Descricao teste", response.getDescription());
+        assertEquals(TaskStatus.PENDING, response.getStatus());
+        assertEquals(4L, response.getVersion());
+        verify(eventPublisher, times(1)).publishEvent(any(Object.class));
+        verify(taskRepository, never()).saveAndFlush(any(Task.class));
+    }
+
+    @Test
+    @DisplayName("Deve limpar a descricao quando o PATCH envia null")
+    void shouldClearDescriptionOnExplicitNull() {
+        task.setVersion(1L);
+        TaskPatchRequest patchRequest = new TaskPatchRequest();
+        patchRequest.setDescription(null);
+
+        when(taskRepository.findResponseByIdAndUserId(1L, 1L)).thenReturn(Optional.of(taskService.mapToResponse(task)));
+        Map<String, Object> clearDescription = new HashMap<>();
+        clearDescription.put("description", null);
+        when(taskRepository.patch(eq(1L), eq(1L), eq(1L), eq(clearDescription), any(LocalDateTime.class)))
+                .thenReturn(1);
+
+        TaskResponse response = taskService.patch(1L, 1L, patchRequest, null);
+
+        assertNull(response.getDescription());
+        assertEquals("Tarefa Teste", response.getTitle());
+    }
+
+    @Test
+    @DisplayName("Nao deve gravar nem publicar evento quando o PATCH nao muda nada")
+    void shouldSkipUpdateWhenPatchChangesNothing() {
+        task.setVersion(2L);
+        TaskPatchRequest patchRequest = new TaskPatchRequest();
+        patchRequest.setStatus(TaskStatus.PENDING);
+
+        when(taskRepository.findResponseByIdAndUserId(1L, 1L)).thenReturn(Optional.of(taskService.mapToResponse(task)));
+
+        TaskResponse response = taskService.patch(1L, 1L, patchRequest, null);
+
+        assertEquals(2L, response.getVersion());
+        verifyNoInteractions(eventPublisher);
+        verify(taskRepository, never()).patch(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve recusar com 409 a atualizacao de uma versao antiga")
+    void shouldRejectStaleVersion() {
+        task.setVersion(5L);
+        TaskPatchRequest patchRequest = new TaskPatchRequest();
+        patchRequest.setTitle("Edicao concorrente");
+
+        when(taskRepository.findResponseByIdAndUserId(1L, 1L)).thenReturn(Optional.of(taskService.mapToResponse(task)));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> taskService.patch(1L, 1L, patchRequest, 4L));
+
+        assertEquals(HttpStatus.CONFLICT, exception.getStatusCode());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Deve recusar com 409 quando outra escrita muda a versao entre o SELECT e o UPDATE")
+    void shouldRejectConcurrentWrite() {
+        task.setVersion(5L);
+        TaskPatchRequest patchRequest = new TaskPatchRequest();
+        patchRequest.setTitle("Edicao concorrente");
+
+        when(taskRepository.findResponseByIdAndUserId(1L, 1L)).thenReturn(Optional.of(taskService.mapToResponse(task)));
+        when(taskRepository.patch(eq(1L), eq(1L), eq(5L), any(), any(LocalDateTime.class))).thenReturn(0);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> taskService.patch(1L, 1L, patchRequest, null));
+
+        assertEquals(HttpStatus.CONFLICT, exception.getStatusCode());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Transicao em massa sem filtro de prioridade considera todas as prioridades")
+    void shouldTransitionWithDefaultFilters() {
+        TaskTransitionRequest request = new TaskTransitionRequest();
+        request.setStatuses(Set.of(TaskStatus.IN_PROGRESS));
+        request.setStatus(TaskStatus.COMPLETED);
+
+        when(taskRepository.transition(eq(1L), eq(EnumSet.of(TaskStatus.IN_PROGRESS)),
+                eq(EnumSet.allOf(TaskPriority.class)), isNull(), isNull(),
+                eq(TaskStatus.COMPLETED), isNull(), any(LocalDateTime.class))).thenReturn(3);
+
+        assertEquals(3, taskService.transition(1L, request).getUpdated());
+        verify(eventPublisher, times(1)).publishEvent(any(Object.class));
+        verify(taskRepository, never()).findByIdAndUserId(any(), any());
+    }
+
+    @Test
+    @DisplayName("Transicao em massa sem tarefas alteradas nao publica evento")
+    void shouldNotPublishWhenNothingTransitioned() {
+        TaskTransitionRequest request = new TaskTransitionRequest();
+        request.setPriority(TaskPriority.HIGH);
+
+        when(taskRepository.transition(eq(1L), any(), any(), any(), any(), any(), any(),
+                any(LocalDateTime.class))).thenReturn(0);
+
+        assertEquals(0, taskService.transition(1L, request).getUpdated());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    @DisplayName("Deve deletar tarefa com sucesso")
+    void shouldDeleteTaskSuccessfully() {
+        when(taskRepository.deleteByIdAndUserId(1L, 1L)).thenReturn(1);
+
+        assertDoesNotThrow(() -> taskService.delete(1L, 1L));
+
+        verify(taskRepository, times(1)).deleteByIdAndUserId(1L, 1L);
+        verify(taskTombstoneRepository, times(1)).recordDeletions(eq(List.of(1L)), eq(1L), any(LocalDateTime.class));
+        verify(taskRepository, never()).findById(any());
+        verify(taskRepository, never()).findResponseByIdAndUserId(any(), any());
+        ArgumentCaptor<TaskChangeEvent> event = ArgumentCaptor.forClass(TaskChangeEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(TaskChangeEvent.Type.DELETED, event.getValue().getType());
+        assertNull(event.getValue().getPrevious());
+    }
+
+    @Test
+    @DisplayName("Deve lancar erro ao deletar tarefa inexistente")
+    void shouldThrowErrorWhenDeletingNonExistentTask() {
+        when(taskRepository.deleteByIdAndUserId(999L, 1L)).thenReturn(0);
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            taskService.delete(999L, 1L);
+        });
+
+        assertEquals("Tarefa não encontrada", exception.getMessage());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+}
\ No newline at end of file
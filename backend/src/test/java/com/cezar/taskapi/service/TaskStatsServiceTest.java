@@ -0,0 +1,149 @@
+package com.cezar.taskapi.service;
+
+import com.cezar.taskapi.dto.TaskResponse;
+import com.cezar.taskapi.dto.TaskStatsResponse;
+import com.cezar.taskapi.event.TaskChangeEvent;
+import com.cezar.taskapi.model.TaskPriority;
+import com.cezar.taskapi.model.TaskStatus;
+import com.cezar.taskapi.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TaskStatsService Tests")
+class TaskStatsServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private TaskStatsService statsService;
+
+    @BeforeEach
+    void setUp() {
+        statsService = new TaskStatsService(taskRepository, 100);
+    }
+
+    @Test
+    @DisplayName("Deve carregar com GROUP BY uma unica vez e aplicar os eventos em memoria")
+    void shouldLoadOnceAndApplyEvents() {
+        LocalDateTime yesterday = LocalDateTime.now().minusDays(1);
+        when(taskRepository.countByStatusAndPriority(1L)).thenReturn(rows(
+                new Object[]{TaskStatus.PENDING, TaskPriority.HIGH, 2L},
+                new Object[]{TaskStatus.COMPLETED, TaskPriority.LOW, 1L}));
+        when(taskRepository.countByDueDate(eq(1L), any())).thenReturn(rows(
+                new Object[]{yesterday, 1L}));
+
+        TaskStatsResponse initial = statsService.getStats(1L);
+        assertEquals(3, initial.getTotal());
+        assertEquals(2, initial.getByStatus().get(TaskStatus.PENDING));
+        assertEquals(1, initial.getOverdue());
+
+        TaskResponse created = task(10L, TaskStatus.PENDING, TaskPriority.URGENT, yesterday);
+        statsService.onTaskChange(new TaskChangeEvent(TaskChangeEvent.Type.CREATED, 1L, 10L, created));
+        TaskResponse completed = task(10L, TaskStatus.COMPLETED, TaskPriority.URGENT, yesterday);
+        statsService.onTaskChange(new TaskChangeEvent(
+                TaskChangeEvent.Type.UPDATED, 1L, 10L, completed, created));
+
+        TaskStatsResponse stats = statsService.getStats(1L);
+        assertEquals(4, stats.getTotal());
+        assertEquals(2, stats.getByStatus().get(TaskStatus.COMPLETED));
+        assertEquals(1, stats.getByPriority().get(TaskPriority.URGENT));
+        assertEquals(1, stats.getOverdue());
+        verify(taskRepository, times(1)).countByStatusAndPriority(1L);
+    }
+
+    @Test
+    @DisplayName("Deve recarregar do banco quando o estado anterior do DELETE e desconhecido")
+    void shouldReloadAfterDeleteWithoutPrevious() {
+        when(taskRepository.countByStatusAndPriority(1L)).thenReturn(rows(
+                new Object[]{TaskStatus.PENDING, TaskPriority.MEDIUM, 1L}));
+        when(taskRepository.countByDueDate(eq(1L), any())).thenReturn(List.of());
+
+        statsService.getStats(1L);
+        statsService.onTaskChange(new TaskChangeEvent(TaskChangeEvent.Type.DELETED, 1L, 5L, null));
+        statsService.getStats(1L);
+
+        verify(taskRepository, times(2)).countByStatusAndPriority(1L);
+    }
+
+    @Test
+    @DisplayName("Reconciliacao deve corrigir contadores divergentes")
+    void shouldRepairDriftOnReconcile() {
+        when(taskRepository.countByStatusAndPriority(1L)).thenReturn(rows(
+                new Object[]{TaskStatus.PENDING, TaskPriority.MEDIUM, 1L}));
+        when(taskRepository.countByDueDate(eq(1L), any())).thenReturn(List.of());
+
+        statsService.getStats(1L);
+        // Evento perdido/duplicado: o contador em memoria diverge do banco
+        statsService.onTaskChange(new TaskChangeEvent(TaskChangeEvent.Type.CREATED, 1L, 7L,
+                task(7L, TaskStatus.PENDING, TaskPriority.MEDIUM, null)));
+        assertEquals(2, statsService.getStats(1L).getTotal());
+
+        statsService.reconcile();
+
+        assertEquals(1, statsService.getStats(1L).getTotal());
+    }
+
+    @Test
+    @DisplayName("Carga concorrente com uma escrita nao deve ir para o cache")
+    void shouldNotCacheLoadRacingWithWrite() {
+        TaskResponse created = task(7L, TaskStatus.PENDING, TaskPriority.MEDIUM, null);
+        TaskChangeEvent event = new TaskChangeEvent(TaskChangeEvent.Type.CREATED, 1L, 7L, created);
+        // A escrita e publicada durante a carga e commitada antes da leitura: a carga ja a conta
+        when(taskRepository.countByStatusAndPriority(1L)).thenAnswer(invocation -> {
+            statsService.onTaskChangePublished(event);
+            return rows(new Object[]{TaskStatus.PENDING, TaskPriority.MEDIUM, 1L});
+        }).thenReturn(rows(new Object[]{TaskStatus.PENDING, TaskPriority.MEDIUM, 1L}));
+        when(taskRepository.countByDueDate(eq(1L), any())).thenReturn(List.of());
+
+        assertEquals(1, statsService.getStats(1L).getTotal());
+        statsService.onTaskChange(event);
+        statsService.onTaskChangeCompleted(event);
+
+        assertEquals(1, statsService.getStats(1L).getTotal());
+        assertEquals(1, statsService.getStats(1L).getTotal());
+        verify(taskRepository, times(2)).countByStatusAndPriority(1L);
+    }
+
+    @Test
+    @DisplayName("Reconciliacao nao deve substituir contadores com escrita pendente")
+    void shouldSkipReconcileWhileWritePending() {
+        when(taskRepository.countByStatusAndPriority(1L))
+                .thenReturn(rows(new Object[]{TaskStatus.PENDING, TaskPriority.MEDIUM, 1L}))
+                .thenReturn(rows(new Object[]{TaskStatus.PENDING, TaskPriority.MEDIUM, 2L}));
+        when(taskRepository.countByDueDate(eq(1L), any())).thenReturn(List.of());
+
+        statsService.getStats(1L);
+        // Commitada e lida pela reconciliacao, mas o evento ainda nao foi aplicado
+        TaskChangeEvent event = new TaskChangeEvent(TaskChangeEvent.Type.CREATED, 1L, 7L,
+                task(7L, TaskStatus.PENDING, TaskPriority.MEDIUM, null));
+        statsService.onTaskChangePublished(event);
+        statsService.reconcile();
+        statsService.onTaskChange(event);
+        statsService.onTaskChangeCompleted(event);
+
+        assertEquals(2, statsService.getStats(1L).getTotal());
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(List.of(rows));
+    }
+
+    private static TaskResponse task(Long id, TaskStatus status, TaskPriority priority, LocalDateTime dueDate) {
+        return new TaskResponse(id, "Tarefa", null, status, priority, dueDate,
+                LocalDateTime.now(), LocalDateTime.now(), 1L, 0L);
+    }
+}
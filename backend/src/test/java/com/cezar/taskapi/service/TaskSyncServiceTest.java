@@ -0,0 +1,217 @@
+package com.cezar.taskapi.service;
+
+import com.cezar.taskapi.dto.AuthResponse;
+import com.cezar.taskapi.dto.RegisterRequest;
+import com.cezar.taskapi.dto.TaskChangesResponse;
+import com.cezar.taskapi.dto.TaskRequest;
+import com.cezar.taskapi.dto.TaskResponse;
+import com.cezar.taskapi.model.TaskPriority;
+import com.cezar.taskapi.model.TaskStatus;
+import com.cezar.taskapi.repository.TaskRepository;
+import com.cezar.taskapi.repository.TaskTombstoneRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Sem atraso de commit: o que foi gravado antes da chamada ja entra na resposta
+@SpringBootTest(properties = {
+        "tasks.sync.commit-lag=PT0S",
+        "spring.jpa.show-sql=false"
+})
+@DisplayName("TaskSyncService Tests")
+class TaskSyncServiceTest {
+
+    @Autowired
+    private TaskSyncService taskSyncService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        RegisterRequest register = new RegisterRequest();
+        register.setName("Sincronizacao");
+        register.setEmail("sync-" + UUID.randomUUID() + "@email.com");
+        register.setPassword("senha123");
+        AuthResponse auth = authService.register(register);
+        userId = auth.getUser().getId();
+    }
+
+    @Test
+    @DisplayName("Primeira sincronizacao deve devolver todas as tarefas e nenhuma remocao")
+    void shouldReturnAllTasksOnFirstSync() {
+        TaskResponse first = create("Primeira");
+        TaskResponse second = create("Segunda");
+
+        TaskChangesResponse response = taskSyncService.changesSince(userId, null, 100);
+
+        assertEquals(List.of(first.getId(), second.getId()), ids(response));
+        assertTrue(response.getDeleted().isEmpty());
+        assertFalse(response.isHasMore());
+        assertNotNull(response.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Deve paginar pelo cursor enquanto houver mais alteracoes")
+    void shouldPageWithCursor() {
+        TaskResponse first = create("Primeira");
+        TaskResponse second = create("Segunda");
+        TaskResponse third = create("Terceira");
+
+        TaskChangesResponse page1 = taskSyncService.changesSince(userId, null, 2);
+        assertEquals(List.of(first.getId(), second.getId()), ids(page1));
+        assertTrue(page1.isHasMore());
+
+        TaskChangesResponse page2 = taskSyncService.changesSince(userId, page1.getNextCursor(), 2);
+        assertEquals(List.of(third.getId()), ids(page2));
+        assertFalse(page2.isHasMore());
+
+        TaskChangesResponse page3 = taskSyncService.changesSince(userId, page2.getNextCursor(), 2);
+        assertTrue(page3.getChanged().isEmpty());
+        assertTrue(page3.getDeleted().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Remocao deve chegar como id removido na retomada pelo cursor")
+    void shouldReturnTombstoneAfterDelete() {
+        TaskResponse kept = create("Mantida");
+        TaskResponse removed = create("Removida");
+        String cursor = taskSyncService.changesSince(userId, null, 100).getNextCursor();
+
+        taskService.delete(removed.getId(), userId);
+
+        TaskChangesResponse response = taskSyncService.changesSince(userId, cursor, 100);
+        assertTrue(response.getChanged().isEmpty());
+        assertEquals(List.of(removed.getId()), response.getDeleted());
+        assertFalse(response.getDeleted().contains(kept.getId()));
+    }
+
+    @Test
+    @DisplayName("Cursor esgotado deve retomar apenas com o que mudou depois dele")
+    void shouldResumeFromDrainedCursor() {
+        TaskResponse unchanged = create("Sem alteracao");
+        String cursor = taskSyncService.changesSince(userId, null, 100).getNextCursor();
+
+        TaskResponse created = create("Nova");
+        TaskRequest update = request("Sem alteracao, agora em andamento");
+        update.setStatus(TaskStatus.IN_PROGRESS);
+        taskService.update(unchanged.getId(), userId, update, null);
+
+        TaskChangesResponse response = taskSyncService.changesSince(userId, cursor, 100);
+        assertEquals(List.of(created.getId(), unchanged.getId()), ids(response));
+        assertEquals(TaskStatus.IN_PROGRESS, response.getChanged().get(1).getStatus());
+
+        TaskChangesResponse next = taskSyncService.changesSince(userId, response.getNextCursor(), 100);
+        assertTrue(next.getChanged().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Tarefas e remocoes devem avancar em posicoes independentes do cursor")
+    void shouldPageTasksAndTombstonesIndependently() {
+        TaskResponse first = create("Primeira");
+        TaskResponse second = create("Segunda");
+        String cursor = taskSyncService.changesSince(userId, null, 100).getNextCursor();
+
+        taskService.delete(first.getId(), userId);
+        taskService.delete(second.getId(), userId);
+        TaskResponse created = create("Nova");
+
+        // Uma tarefa cabe no limite; as remocoes nao
+        TaskChangesResponse page1 = taskSyncService.changesSince(userId, cursor, 1);
+        assertEquals(List.of(created.getId()), ids(page1));
+        assertEquals(List.of(first.getId()), page1.getDeleted());
+        assertTrue(page1.isHasMore());
+
+        TaskChangesResponse page2 = taskSyncService.changesSince(userId, page1.getNextCursor(), 1);
+        assertTrue(page2.getChanged().isEmpty());
+        assertEquals(List.of(second.getId()), page2.getDeleted());
+        assertFalse(page2.isHasMore());
+    }
+
+    @Test
+    @DisplayName("Alteracoes dentro do atraso de commit devem ficar para a proxima chamada")
+    void shouldHoldBackChangesWithinCommitLag() {
+        TaskSyncService lagging = new TaskSyncService(taskRepository, taskTombstoneRepository,
+                Duration.ofDays(30), Duration.ofHours(1));
+        TaskResponse recent = create("Recente");
+
+        TaskChangesResponse held = lagging.changesSince(userId, null, 100);
+        assertTrue(held.getChanged().isEmpty());
+
+        // O cursor para antes da janela: a tarefa aparece assim que sai dela
+        TaskChangesResponse response = taskSyncService.changesSince(userId, held.getNextCursor(), 100);
+        assertEquals(List.of(recent.getId()), ids(response));
+    }
+
+    @Test
+    @DisplayName("Cursor anterior a retencao deve retornar 410")
+    void shouldRejectExpiredCursor() {
+        String expired = cursor("v1|2000-01-01T00:00|0|2000-01-01T00:00|0");
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> taskSyncService.changesSince(userId, expired, 100));
+
+        assertEquals(HttpStatus.GONE, exception.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Cursor malformado deve ser recusado")
+    void shouldRejectInvalidCursor() {
+        for (String invalid : List.of("nao-e-base64!", cursor("v2|2000-01-01T00:00|0|2000-01-01T00:00|0"),
+                cursor("v1|ontem|0|2000-01-01T00:00|0"))) {
+            RuntimeException exception = assertThrows(RuntimeException.class,
+                    () -> taskSyncService.changesSince(userId, invalid, 100));
+            assertEquals("Cursor invalido", exception.getMessage());
+        }
+    }
+
+    @Test
+    @DisplayName("Limite fora da faixa deve ser recusado")
+    void shouldRejectInvalidLimit() {
+        assertThrows(RuntimeException.class, () -> taskSyncService.changesSince(userId, null, 0));
+        assertThrows(RuntimeException.class, () -> taskSyncService.changesSince(userId, null, 1001));
+    }
+
+    private TaskResponse create(String title) {
+        return taskService.create(userId, request(title));
+    }
+
+    private static TaskRequest request(String title) {
+        TaskRequest request = new TaskRequest();
+        request.setTitle(title);
+        request.setStatus(TaskStatus.PENDING);
+        request.setPriority(TaskPriority.MEDIUM);
+        return request;
+    }
+
+    private static List<Long> ids(TaskChangesResponse response) {
+        return response.getChanged().stream().map(TaskResponse::getId).toList();
+    }
+
+    private static String cursor(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
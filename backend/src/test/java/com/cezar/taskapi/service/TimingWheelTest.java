@@ -0,0 +1,81 @@
+package com.cezar.taskapi.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TimingWheel Tests")
+class TimingWheelTest {
+
+    @Test
+    @DisplayName("Deve disparar cada entrada ao fim do tick do prazo, inclusive nos niveis superiores")
+    void shouldFireEntriesAtTheirTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 0);
+        wheel.schedule(35, "nivel 0");
+        wheel.schedule(500, "nivel 2");
+        wheel.schedule(10_000, "nivel 4");
+        List<String> fired = new ArrayList<>();
+
+        wheel.advance(39, entry -> fired.add(entry.getValue()));
+        assertTrue(fired.isEmpty());
+
+        wheel.advance(40, entry -> fired.add(entry.getValue()));
+        assertEquals(List.of("nivel 0"), fired);
+
+        wheel.advance(509, entry -> fired.add(entry.getValue()));
+        assertEquals(List.of("nivel 0"), fired);
+
+        wheel.advance(510, entry -> fired.add(entry.getValue()));
+        wheel.advance(10_009, entry -> fired.add(entry.getValue()));
+        assertEquals(List.of("nivel 0", "nivel 2"), fired);
+
+        wheel.advance(10_010, entry -> fired.add(entry.getValue()));
+        assertEquals(List.of("nivel 0", "nivel 2", "nivel 4"), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Nenhuma entrada deve disparar antes do prazo nem mais de um tick depois")
+    void shouldNeverFireEarly() {
+        TimingWheel<Long> wheel = new TimingWheel<>(10, 8, 0);
+        Random random = new Random(7);
+        for (int i = 0; i < 10_000; i++) {
+            long deadline = random.nextInt(1_000_000);
+            wheel.schedule(deadline, deadline);
+        }
+
+        int[] fired = {0};
+        for (long now = 0; now <= 1_000_010; now += 10) {
+            long current = now;
+            wheel.advance(now, entry -> {
+                assertTrue(entry.getValue() <= current, "disparou antes do prazo");
+                assertTrue(entry.getValue() >= current - 10, "disparou mais de um tick depois");
+                fired[0]++;
+            });
+        }
+        assertEquals(10_000, fired[0]);
+    }
+
+    @Test
+    @DisplayName("Entradas canceladas nao disparam e prazos vencidos disparam no proximo avanco")
+    void shouldSkipCancelledAndFireOverdueImmediately() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 1_000);
+        TimingWheel.Entry<String> cancelled = wheel.schedule(2_000, "cancelada");
+        wheel.schedule(500, "atrasada");
+        wheel.cancel(cancelled);
+        assertEquals(1, wheel.size());
+
+        List<String> fired = new ArrayList<>();
+        wheel.advance(1_000, entry -> fired.add(entry.getValue()));
+        assertEquals(List.of("atrasada"), fired);
+
+        wheel.advance(5_000, entry -> fired.add(entry.getValue()));
+        assertEquals(List.of("atrasada"), fired);
+        assertEquals(0, wheel.size());
+    }
+}